@@ -0,0 +1,87 @@
+package com.conspiracy.forum.config;
+
+import com.conspiracy.forum.dto.Connection;
+import com.conspiracy.forum.entity.Comment;
+import com.conspiracy.forum.entity.User;
+import com.conspiracy.forum.service.CommentService;
+import com.conspiracy.forum.service.CommentTree;
+import com.conspiracy.forum.service.TheoryService;
+import com.conspiracy.forum.service.UserService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Configuration
+public class DataLoaderConfig {
+
+    public static final String THEORY_COMMENTS_LOADER = "theoryComments";
+    public static final String EVIDENCE_URLS_LOADER = "evidenceUrls";
+    public static final String COMMENT_REPLIES_LOADER = "commentReplies";
+
+    public DataLoaderConfig(BatchLoaderRegistry registry, UserService userService,
+                            TheoryService theoryService, CommentService commentService) {
+        registry.forTypePair(Long.class, User.class)
+                .registerMappedBatchLoader((userIds, env) ->
+                        Mono.fromSupplier(() -> userService.getUsersByIds(userIds)));
+
+        registry.forTypePair(Long.class, CommentTree.class)
+                .registerMappedBatchLoader((theoryIds, env) ->
+                        Mono.fromSupplier(() -> commentService.getCommentTrees(theoryIds)));
+
+        registry.<Long, List<String>>forName(EVIDENCE_URLS_LOADER)
+                .registerMappedBatchLoader((theoryIds, env) ->
+                        Mono.fromSupplier(() -> theoryService.getEvidenceUrlsByTheoryIds(theoryIds)));
+
+        registry.<TheoryCommentsKey, List<Comment>>forName(THEORY_COMMENTS_LOADER)
+                .registerMappedBatchLoader((keys, env) ->
+                        Mono.fromSupplier(() -> loadTheoryComments(commentService, keys)));
+
+        registry.<CommentRepliesKey, Connection<Comment>>forName(COMMENT_REPLIES_LOADER)
+                .registerMappedBatchLoader((keys, env) ->
+                        Mono.fromSupplier(() -> loadCommentReplies(commentService, keys)));
+    }
+
+    private static Map<TheoryCommentsKey, List<Comment>> loadTheoryComments(
+            CommentService commentService, Set<TheoryCommentsKey> keys) {
+        Map<TheoryCommentsKey, List<Comment>> result = new HashMap<>();
+        Map<Optional<Integer>, List<Long>> theoryIdsByLimit = keys.stream()
+                .collect(Collectors.groupingBy(key -> Optional.ofNullable(key.limit()),
+                        Collectors.mapping(TheoryCommentsKey::theoryId, Collectors.toList())));
+
+        theoryIdsByLimit.forEach((limit, theoryIds) -> {
+            Map<Long, List<Comment>> comments = commentService.getCommentsByTheories(theoryIds, limit.orElse(null));
+            for (Long theoryId : theoryIds) {
+                result.put(new TheoryCommentsKey(theoryId, limit.orElse(null)),
+                        comments.getOrDefault(theoryId, List.of()));
+            }
+        });
+        return result;
+    }
+
+    private static Map<CommentRepliesKey, Connection<Comment>> loadCommentReplies(
+            CommentService commentService, Set<CommentRepliesKey> keys) {
+        Map<CommentRepliesKey, Connection<Comment>> result = new HashMap<>();
+        Map<Optional<Integer>, List<Long>> parentIdsByFirst = keys.stream()
+                .collect(Collectors.groupingBy(key -> Optional.ofNullable(key.first()),
+                        Collectors.mapping(CommentRepliesKey::parentId, Collectors.toList())));
+
+        parentIdsByFirst.forEach((first, parentIds) -> {
+            Map<Long, Connection<Comment>> replies = commentService.getFirstReplies(parentIds, first.orElse(null));
+            for (Long parentId : parentIds) {
+                result.put(new CommentRepliesKey(parentId, first.orElse(null)), replies.get(parentId));
+            }
+        });
+        return result;
+    }
+
+    public record TheoryCommentsKey(Long theoryId, Integer limit) {}
+
+    public record CommentRepliesKey(Long parentId, Integer first) {}
+}
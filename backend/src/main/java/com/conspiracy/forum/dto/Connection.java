@@ -0,0 +1,10 @@
+package com.conspiracy.forum.dto;
+
+import java.util.List;
+
+public record Connection<T>(List<Edge<T>> edges, PageInfo pageInfo) {
+
+    public record Edge<T>(T node, String cursor) {}
+
+    public record PageInfo(boolean hasNextPage, boolean hasPreviousPage, String startCursor, String endCursor) {}
+}
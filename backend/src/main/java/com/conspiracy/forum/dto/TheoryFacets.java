@@ -0,0 +1,15 @@
+package com.conspiracy.forum.dto;
+
+import com.conspiracy.forum.enums.TheoryStatus;
+
+import java.util.List;
+
+/**
+ * Match counts for the filter panel. Each facet is counted with the other active filters applied.
+ */
+public record TheoryFacets(long total, List<StatusFacet> statuses, List<CommentCountFacet> commentCounts) {
+
+    public record StatusFacet(TheoryStatus status, long count) {}
+
+    public record CommentCountFacet(int minCommentCount, long count) {}
+}
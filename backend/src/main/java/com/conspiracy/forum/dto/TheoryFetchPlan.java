@@ -0,0 +1,29 @@
+package com.conspiracy.forum.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What a theory query has to load for the fields a client selected. Without {@code content} the
+ * listing reads a column projection instead of entities, leaving the TEXT body unread.
+ */
+public record TheoryFetchPlan(boolean author, boolean evidenceUrls, boolean content) {
+
+    /** Loads full entities, content included, without joining any associations. */
+    public static final TheoryFetchPlan FULL_ENTITIES = new TheoryFetchPlan(false, false, true);
+
+    /**
+     * Collection fetches cannot be combined with LIMIT/OFFSET without Hibernate
+     * paginating in memory, so paged queries leave them to the batch loaders.
+     */
+    public List<String> fetchPaths(boolean includeCollections) {
+        List<String> paths = new ArrayList<>();
+        if (author) {
+            paths.add("author");
+        }
+        if (evidenceUrls && includeCollections) {
+            paths.add("evidenceUrls");
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,57 @@
+package com.conspiracy.forum.dto;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.enums.TheoryStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for theory cards. {@code contentPrefix} holds one character more than the longest
+ * excerpt requested, so {@link #excerpt(int)} can tell whether the content was cut.
+ */
+public record TheorySummary(
+        Long id,
+        String title,
+        String contentPrefix,
+        TheoryStatus status,
+        LocalDateTime postedAt,
+        int score,
+        int commentCount,
+        boolean isAnonymousPost,
+        Long authorId,
+        int evidenceCount
+) {
+
+    public static final int DEFAULT_EXCERPT_LENGTH = 200;
+    public static final int MAX_EXCERPT_LENGTH = 1000;
+
+    public static int resolveExcerptLength(Integer length) {
+        if (length == null) {
+            return DEFAULT_EXCERPT_LENGTH;
+        }
+        return Math.max(1, Math.min(length, MAX_EXCERPT_LENGTH));
+    }
+
+    public static TheorySummary of(Theory theory, int excerptLength) {
+        String content = theory.getContent();
+        return new TheorySummary(
+                theory.getId(),
+                theory.getTitle(),
+                content.length() > excerptLength ? content.substring(0, excerptLength + 1) : content,
+                theory.getStatus(),
+                theory.getPostedAt(),
+                theory.getScore(),
+                theory.getCommentCount(),
+                theory.isAnonymousPost(),
+                theory.getAuthorId(),
+                theory.getEvidenceUrls().size()
+        );
+    }
+
+    public String excerpt(int length) {
+        if (contentPrefix.length() <= length) {
+            return contentPrefix;
+        }
+        return contentPrefix.substring(0, length).stripTrailing() + "…";
+    }
+}
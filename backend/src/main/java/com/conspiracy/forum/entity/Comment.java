@@ -12,13 +12,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = @Index(name = "idx_comments_path", columnList = "path", unique = true))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Comment {
 
+    /** Width of one zero-padded id segment, enough for any positive {@code long}. */
+    public static final int PATH_SEGMENT_WIDTH = 19;
+    public static final char PATH_SEPARATOR = '/';
+    /** Depth of the deepest reply allowed; root comments are at depth 0. */
+    public static final int MAX_DEPTH = 4;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -50,6 +56,17 @@ public class Comment {
     @JoinColumn(name = "parent_id")
     private Comment parent;
 
+    /**
+     * Ids from the root down to this comment, each zero-padded and followed by a separator, so a
+     * subtree is one contiguous range in byte order. Assigned once the insert has produced the id.
+     */
+    @Column(name = "path")
+    private String path;
+
+    /** Number of ancestors: 0 for a root comment. */
+    @Column(name = "depth", nullable = false, updatable = false)
+    private int depth;
+
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL)
     @Builder.Default
     private List<Comment> replies = new ArrayList<>();
@@ -57,4 +74,41 @@ public class Comment {
     @Column(name = "score")
     @Builder.Default
     private int score = 0;
+
+    @Column(name = "up_votes", nullable = false)
+    @Builder.Default
+    private int upVotes = 0;
+
+    @Column(name = "down_votes", nullable = false)
+    @Builder.Default
+    private int downVotes = 0;
+
+    /** Wilson lower bound of {@link #upVotes} and {@link #downVotes}, kept in step by each vote. */
+    @Column(name = "best_score", columnDefinition = "DOUBLE PRECISION DEFAULT 0")
+    @Builder.Default
+    private double bestScore = 0;
+
+    @Column(name = "reply_count", nullable = false, updatable = false)
+    @Builder.Default
+    private int replyCount = 0;
+
+    @PrePersist
+    void assignDepth() {
+        depth = parent == null ? 0 : parent.getDepth() + 1;
+    }
+
+    @PostPersist
+    void assignPath() {
+        path = (parent == null ? "" : parent.getPath()) + pathSegment(id);
+    }
+
+    /** Lowest path that sorts after every descendant of the given path. */
+    public static String subtreeUpperBound(String path) {
+        return path.substring(0, path.length() - 1) + (char) (PATH_SEPARATOR + 1);
+    }
+
+    private static String pathSegment(Long id) {
+        String digits = Long.toString(id);
+        return "0".repeat(PATH_SEGMENT_WIDTH - digits.length()) + digits + PATH_SEPARATOR;
+    }
 }
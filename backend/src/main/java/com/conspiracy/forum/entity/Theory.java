@@ -13,7 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "theories")
+@Table(name = "theories", indexes = @Index(name = "idx_theories_hot_score", columnList = "hot_score DESC, id DESC"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,8 +36,10 @@ public class Theory {
     private TheoryStatus status = TheoryStatus.UNVERIFIED;
 
     @ElementCollection
-    @CollectionTable(name = "theory_evidence_urls", joinColumns = @JoinColumn(name = "theory_id"))
+    @CollectionTable(name = "theory_evidence_urls", joinColumns = @JoinColumn(name = "theory_id"),
+            indexes = @Index(name = "idx_theory_evidence_urls_theory_id", columnList = "theory_id"))
     @Column(name = "url")
+    @OrderColumn(name = "url_order")
     @Builder.Default
     private List<String> evidenceUrls = new ArrayList<>();
 
@@ -57,11 +59,14 @@ public class Theory {
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
+    @Column(name = "author_id", insertable = false, updatable = false)
+    private Long authorId;
+
     @OneToMany(mappedBy = "theory", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Comment> comments = new ArrayList<>();
 
-    @Column(name = "comment_count")
+    @Column(name = "comment_count", updatable = false)
     @Builder.Default
     private int commentCount = 0;
 
@@ -69,13 +74,7 @@ public class Theory {
     @Builder.Default
     private int score = 0;
 
-    public void incrementCommentCount() {
-        this.commentCount++;
-    }
-
-    public void decrementCommentCount() {
-        if (this.commentCount > 0) {
-            this.commentCount--;
-        }
-    }
+    @Column(name = "hot_score", columnDefinition = "DOUBLE PRECISION DEFAULT 0")
+    @Builder.Default
+    private double hotScore = 0;
 }
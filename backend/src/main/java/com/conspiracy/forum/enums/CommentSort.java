@@ -0,0 +1,8 @@
+package com.conspiracy.forum.enums;
+
+public enum CommentSort {
+    NEWEST,
+    OLDEST,
+    TOP,
+    BEST
+}
@@ -0,0 +1,32 @@
+package com.conspiracy.forum.event;
+
+/**
+ * Published when a theory or anything rendered with it changes.
+ */
+public record TheoryChangedEvent(Long theoryId, Change change) {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED,
+        COMMENT_ADDED,
+        COMMENT_REMOVED,
+        COMMENT_EDITED,
+        VOTED
+    }
+
+    /**
+     * Whether the change can move the theory into or out of a theory listing,
+     * or reorder one. Votes count: they move the hot score and with it hot order.
+     */
+    public boolean listingsAffected() {
+        return change != Change.COMMENT_EDITED;
+    }
+
+    /**
+     * Whether the theory's own title, content or status may have changed.
+     */
+    public boolean contentChanged() {
+        return change == Change.CREATED || change == Change.UPDATED || change == Change.DELETED;
+    }
+}
@@ -7,11 +7,17 @@ import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter
 import org.springframework.graphql.execution.ErrorType;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
 @Component
 public class GraphQLExceptionHandler extends DataFetcherExceptionResolverAdapter {
 
     @Override
     protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        while (isAsyncWrapper(ex)) {
+            ex = ex.getCause();
+        }
         if (ex instanceof ResourceNotFoundException) {
             return GraphqlErrorBuilder.newError(env)
                     .message(ex.getMessage())
@@ -41,4 +47,23 @@ public class GraphQLExceptionHandler extends DataFetcherExceptionResolverAdapter
                 .errorType(ErrorType.INTERNAL_ERROR)
                 .build();
     }
+
+    private static boolean isAsyncWrapper(Throwable ex) {
+        if (ex.getCause() == null) {
+            return false;
+        }
+        if (ex instanceof CompletionException || ex instanceof ExecutionException) {
+            return true;
+        }
+        // Spring GraphQL wraps failures of Callable data fetchers in an IllegalStateException; only
+        // unwrap it when it carries one of ours, so other illegal states still count as internal errors
+        return ex instanceof IllegalStateException && isApplicationException(ex.getCause());
+    }
+
+    private static boolean isApplicationException(Throwable ex) {
+        return ex instanceof ResourceNotFoundException
+                || ex instanceof ValidationException
+                || ex instanceof AuthenticationException
+                || ex instanceof UnauthorizedException;
+    }
 }
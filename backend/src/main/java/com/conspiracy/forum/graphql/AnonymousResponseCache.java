@@ -0,0 +1,143 @@
+package com.conspiracy.forum.graphql;
+
+import com.conspiracy.forum.event.TheoryChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves repeated anonymous reads of theory queries from memory. Requests with
+ * credentials always execute, since their results may depend on the viewer.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(prefix = "forum.graphql.response-cache", name = "enabled", matchIfMissing = true)
+public class AnonymousResponseCache implements WebGraphQlInterceptor {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResponse> responses;
+    private final Object invalidationLock = new Object();
+    private long invalidations;
+
+    public AnonymousResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "graphql.responses");
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (StringUtils.hasText(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION))) {
+            return chain.next(request);
+        }
+
+        String key = cacheKey(request);
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(new WebGraphQlResponse(
+                    new DefaultExecutionGraphQlResponse(request.toExecutionInput(), cached.result())));
+        }
+
+        long invalidationsAtStart = currentInvalidations();
+        ResponseCacheInstrumentation.Scope scope = new ResponseCacheInstrumentation.Scope();
+        request.configureExecutionInput((input, builder) -> {
+            input.getGraphQLContext().put(ResponseCacheInstrumentation.Scope.class, scope);
+            return input;
+        });
+
+        return chain.next(request).doOnNext(response -> {
+            if (response.isValid() && response.getErrors().isEmpty() && scope.isCacheable()) {
+                store(key, new CachedResponse(response.getExecutionResult(),
+                        Set.copyOf(scope.getTheoryIds()), scope.isListing()), invalidationsAtStart);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTheoryChanged(TheoryChangedEvent event) {
+        synchronized (invalidationLock) {
+            invalidations++;
+            responses.asMap().values().removeIf(cached -> cached.theoryIds().contains(event.theoryId())
+                    || (event.listingsAffected() && cached.listing()));
+        }
+    }
+
+    public long size() {
+        return responses.estimatedSize();
+    }
+
+    private void store(String key, CachedResponse response, long invalidationsAtStart) {
+        synchronized (invalidationLock) {
+            // A change committed while the operation ran may not be reflected in its result
+            if (invalidations == invalidationsAtStart) {
+                responses.put(key, response);
+            }
+        }
+    }
+
+    private long currentInvalidations() {
+        synchronized (invalidationLock) {
+            return invalidations;
+        }
+    }
+
+    private String cacheKey(WebGraphQlRequest request) {
+        String operation = persistedQueryHash(request.getExtensions());
+        if (operation == null) {
+            operation = sha256(CachingPreparsedDocumentProvider.normalize(request.getDocument()));
+        }
+        try {
+            return operation + ":" + request.getOperationName() + ":"
+                    + objectMapper.writeValueAsString(request.getVariables());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request variables cannot be serialized", e);
+        }
+    }
+
+    private static String persistedQueryHash(Map<String, Object> extensions) {
+        if (extensions.get("persistedQuery") instanceof Map<?, ?> persistedQuery
+                && persistedQuery.get("sha256Hash") instanceof String hash) {
+            return hash;
+        }
+        return null;
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedResponse(ExecutionResult result, Set<Long> theoryIds, boolean listing) {
+    }
+}
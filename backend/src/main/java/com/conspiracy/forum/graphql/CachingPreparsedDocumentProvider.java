@@ -0,0 +1,145 @@
+package com.conspiracy.forum.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches parsed and validated documents by their normalized text, in front of
+ * another provider such as persisted query support.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    private final PreparsedDocumentProvider delegate;
+    private final Cache<String, CachedDocument> documents;
+    private final Timer parseTimer;
+    private final Counter savedTime;
+
+    public CachingPreparsedDocumentProvider(PreparsedDocumentProvider delegate, long maxEntries,
+                                            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        this.parseTimer = Timer.builder("graphql.document.parse")
+                .description("Time spent parsing and validating uncached GraphQL documents")
+                .register(meterRegistry);
+        this.savedTime = Counter.builder("graphql.document.parse.saved")
+                .description("Parse and validation time avoided by document cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, "graphql.documents");
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return delegate.getDocument(executionInput, input -> getCachedDocument(input, parseAndValidateFunction));
+    }
+
+    private PreparsedDocumentEntry getCachedDocument(ExecutionInput executionInput,
+                                                     Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String key = normalize(executionInput.getQuery());
+        CachedDocument cached = documents.getIfPresent(key);
+        if (cached != null) {
+            savedTime.increment(cached.parseNanos() / (double) TimeUnit.SECONDS.toNanos(1));
+            return cached.entry();
+        }
+
+        long start = System.nanoTime();
+        PreparsedDocumentEntry entry = parseAndValidateFunction.apply(executionInput);
+        long parseNanos = System.nanoTime() - start;
+        parseTimer.record(parseNanos, TimeUnit.NANOSECONDS);
+
+        // Error messages depend on the request locale, so only valid documents are shared
+        if (!entry.hasErrors()) {
+            documents.put(key, new CachedDocument(entry, parseNanos));
+        }
+        return entry;
+    }
+
+    public long size() {
+        return documents.estimatedSize();
+    }
+
+    /**
+     * Collapses insignificant whitespace, commas and comments outside of string
+     * literals so that formatting differences share a cache entry.
+     */
+    static String normalize(String query) {
+        StringBuilder normalized = new StringBuilder(query.length());
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (c == '#') {
+                while (i < query.length() && query.charAt(i) != '\n' && query.charAt(i) != '\r') {
+                    i++;
+                }
+                pendingSpace = true;
+                continue;
+            }
+            if (Character.isWhitespace(c) || c == ',' || c == '\uFEFF') {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            if (pendingSpace && !normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            pendingSpace = false;
+
+            if (c == '"') {
+                int end = query.startsWith("\"\"\"", i) ? blockStringEnd(query, i) : stringEnd(query, i);
+                normalized.append(query, i, end);
+                i = end;
+            } else {
+                normalized.append(c);
+                i++;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static int stringEnd(String query, int start) {
+        int i = start + 1;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return query.length();
+    }
+
+    private static int blockStringEnd(String query, int start) {
+        int i = start + 3;
+        while (i < query.length()) {
+            if (query.startsWith("\\\"\"\"", i)) {
+                i += 4;
+            } else if (query.startsWith("\"\"\"", i)) {
+                return i + 3;
+            } else {
+                i++;
+            }
+        }
+        return query.length();
+    }
+
+    private record CachedDocument(PreparsedDocumentEntry entry, long parseNanos) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.conspiracy.forum.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+public class CaffeinePersistedQueryCache implements PersistedQueryCache {
+
+    private final Cache<Object, PreparsedDocumentEntry> documents;
+
+    public CaffeinePersistedQueryCache(long maxEntries, MeterRegistry meterRegistry) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, "graphql.persisted-queries");
+    }
+
+    @Override
+    public PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId, ExecutionInput executionInput,
+                                                            PersistedQueryCacheMiss onCacheMiss)
+            throws PersistedQueryNotFound {
+        PreparsedDocumentEntry entry = documents.getIfPresent(persistedQueryId);
+        if (entry != null) {
+            return entry;
+        }
+
+        String query = executionInput.getQuery();
+        if (PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+
+        entry = onCacheMiss.apply(query);
+        if (!entry.hasErrors()) {
+            documents.put(persistedQueryId, entry);
+        }
+        return entry;
+    }
+
+    public long size() {
+        return documents.estimatedSize();
+    }
+}
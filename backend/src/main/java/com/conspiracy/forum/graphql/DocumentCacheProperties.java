@@ -0,0 +1,17 @@
+package com.conspiracy.forum.graphql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "forum.graphql.document-cache")
+public class DocumentCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of parsed and validated documents kept by normalized
+     * query text. The least recently used entries are evicted first.
+     */
+    private long maxEntries = 500;
+}
@@ -0,0 +1,33 @@
+package com.conspiracy.forum.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PersistedQueryProperties.class)
+@ConditionalOnProperty(prefix = "forum.graphql.persisted-queries", name = "enabled", matchIfMissing = true)
+public class PersistedQueryConfig {
+
+    @Bean
+    public CaffeinePersistedQueryCache persistedQueryCache(PersistedQueryProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        return new CaffeinePersistedQueryCache(properties.getMaxEntries(), meterRegistry);
+    }
+
+    @Bean
+    public ApolloPersistedQuerySupport persistedQuerySupport(CaffeinePersistedQueryCache persistedQueryCache) {
+        return new ApolloPersistedQuerySupport(persistedQueryCache);
+    }
+
+    @Bean
+    public PersistedQueryRequestFilter persistedQueryRequestFilter(
+            @Value("${spring.graphql.path:/graphql}") String graphQlPath, ObjectMapper objectMapper) {
+        return new PersistedQueryRequestFilter(graphQlPath, objectMapper);
+    }
+}
@@ -0,0 +1,155 @@
+package com.conspiracy.forum.graphql;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Spring GraphQL rejects request bodies without a "query" before the document
+ * provider runs, so hash-only persisted query requests get the graphql-java
+ * marker that tells ApolloPersistedQuerySupport to resolve the query by hash.
+ */
+public class PersistedQueryRequestFilter extends OncePerRequestFilter {
+
+    private static final byte[] PERSISTED_QUERY_EXTENSION = "persistedQuery".getBytes(StandardCharsets.UTF_8);
+
+    private final String graphQlPath;
+    private final ObjectMapper objectMapper;
+
+    public PersistedQueryRequestFilter(String graphQlPath, ObjectMapper objectMapper) {
+        this.graphQlPath = graphQlPath;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !graphQlPath.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        if (indexOf(body, PERSISTED_QUERY_EXTENSION) >= 0) {
+            body = withPersistedQueryMarker(body);
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private byte[] withPersistedQueryMarker(byte[] body) throws IOException {
+        Map<String, Object> document;
+        try {
+            document = objectMapper.readValue(body, new TypeReference<>() {});
+        } catch (IOException e) {
+            // Leave malformed bodies for the GraphQL handler to reject
+            return body;
+        }
+
+        boolean hasQuery = document.get("query") instanceof String query && StringUtils.hasText(query);
+        boolean hasHash = document.get("extensions") instanceof Map<?, ?> extensions
+                && extensions.get("persistedQuery") instanceof Map<?, ?>;
+        if (hasQuery || !hasHash) {
+            return body;
+        }
+
+        document.put("query", PersistedQuerySupport.PERSISTED_QUERY_MARKER);
+        return objectMapper.writeValueAsBytes(document);
+    }
+
+    private static int indexOf(byte[] source, byte[] target) {
+        outer:
+        for (int i = 0; i <= source.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (source[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is all available at once
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.conspiracy.forum.graphql;
+
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DocumentCacheProperties.class)
+public class PreparsedDocumentConfig {
+
+    @Bean
+    public PreparsedDocumentProvider preparsedDocumentProvider(
+            ObjectProvider<ApolloPersistedQuerySupport> persistedQuerySupport,
+            DocumentCacheProperties properties,
+            MeterRegistry meterRegistry) {
+        PreparsedDocumentProvider provider = persistedQuerySupport.getIfAvailable();
+        if (provider == null) {
+            provider = NoOpPreparsedDocumentProvider.INSTANCE;
+        }
+        if (!properties.isEnabled()) {
+            return provider;
+        }
+        return new CachingPreparsedDocumentProvider(provider, properties.getMaxEntries(), meterRegistry);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer preparsedDocumentCustomizer(PreparsedDocumentProvider preparsedDocumentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(preparsedDocumentProvider));
+    }
+}
@@ -0,0 +1,165 @@
+package com.conspiracy.forum.graphql;
+
+import com.conspiracy.forum.dto.PageInput;
+import com.conspiracy.forum.util.PaginationUtils;
+import graphql.ExecutionResult;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.QueryComplexityCalculator;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.CoercedVariables;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.Document;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties(QueryCostProperties.class)
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private final QueryCostProperties properties;
+    private final DistributionSummary costSummary;
+    private final DistributionSummary depthSummary;
+    private final Counter rejectedByCost;
+    private final Counter rejectedByDepth;
+
+    public QueryCostInstrumentation(QueryCostProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.costSummary = DistributionSummary.builder("graphql.query.cost")
+                .description("Estimated cost of executed GraphQL operations")
+                .register(meterRegistry);
+        this.depthSummary = DistributionSummary.builder("graphql.query.depth")
+                .description("Selection depth of executed GraphQL operations")
+                .register(meterRegistry);
+        this.rejectedByCost = Counter.builder("graphql.query.rejected")
+                .tag("reason", "cost")
+                .register(meterRegistry);
+        this.rejectedByDepth = Counter.builder("graphql.query.rejected")
+                .tag("reason", "depth")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        if (!properties.isEnabled()) {
+            return super.beginExecuteOperation(parameters, state);
+        }
+
+        ExecutionContext context = parameters.getExecutionContext();
+        String operationName = context.getOperationDefinition().getName();
+        GraphQLSchema schema = context.getGraphQLSchema();
+
+        int depth = calculateDepth(schema, context.getDocument(), operationName, context.getCoercedVariables());
+        depthSummary.record(depth);
+        if (depth > properties.getMaxDepth()) {
+            rejectedByDepth.increment();
+            log.warn("Rejected GraphQL operation {} with depth {}", operationName, depth);
+            throw new AbortExecutionException("Query depth " + depth
+                    + " exceeds the maximum allowed depth of " + properties.getMaxDepth());
+        }
+
+        int cost = calculateCost(schema, context.getDocument(), operationName, context.getCoercedVariables());
+        costSummary.record(cost);
+        if (cost > properties.getMaxCost()) {
+            rejectedByCost.increment();
+            log.warn("Rejected GraphQL operation {} with cost {}", operationName, cost);
+            throw new AbortExecutionException("Query cost " + cost
+                    + " exceeds the maximum allowed cost of " + properties.getMaxCost());
+        }
+
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    public int calculateCost(GraphQLSchema schema, Document document, String operationName,
+                             CoercedVariables variables) {
+        return QueryComplexityCalculator.newCalculator()
+                .schema(schema)
+                .document(document)
+                .operationName(operationName)
+                .variables(variables)
+                .fieldComplexityCalculator(this::fieldCost)
+                .build()
+                .calculate();
+    }
+
+    public int calculateDepth(GraphQLSchema schema, Document document, String operationName,
+                              CoercedVariables variables) {
+        return QueryTraverser.newQueryTraverser()
+                .schema(schema)
+                .document(document)
+                .operationName(operationName)
+                .coercedVariables(variables)
+                .build()
+                .reducePreOrder((env, maxDepth) -> Math.max(maxDepth, depthOf(env)), 0);
+    }
+
+    private int fieldCost(FieldComplexityEnvironment env, int childCost) {
+        GraphQLFieldDefinition definition = env.getFieldDefinition();
+        if (isIntrospection(definition.getName())) {
+            return 0;
+        }
+        String key = GraphQLTypeUtil.simplePrint(env.getParentType()) + "." + definition.getName();
+
+        boolean composite = !GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(definition.getType()));
+        int weight = properties.getFieldWeights().getOrDefault(key, composite ? 1 : 0);
+
+        long cost = (long) weight + childCost;
+        if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(definition.getType()))) {
+            cost *= estimateListSize(key, listArguments(env));
+        }
+        return (int) Math.min(cost, Integer.MAX_VALUE);
+    }
+
+    private int estimateListSize(String key, Map<String, Object> arguments) {
+        if (arguments.get("page") instanceof Map<?, ?> page && page.get("size") instanceof Integer size) {
+            return PaginationUtils.resolvePageSize(PageInput.builder().page(1).size(size).build());
+        }
+        if (arguments.get("first") instanceof Integer first) {
+            return PaginationUtils.resolveLimit(first);
+        }
+        if (arguments.get("limit") instanceof Integer limit) {
+            return Math.max(1, limit);
+        }
+        return properties.getListSizes().getOrDefault(key, properties.getDefaultListSize());
+    }
+
+    // Connection edges are sized by the enclosing field's `first` argument.
+    private static Map<String, Object> listArguments(FieldComplexityEnvironment env) {
+        if ("edges".equals(env.getField().getName()) && env.getParentEnvironment() != null) {
+            return env.getParentEnvironment().getArguments();
+        }
+        return env.getArguments();
+    }
+
+    // Introspection selections are bounded by the schema, and tooling such as GraphiQL nests them deeply
+    private static int depthOf(QueryVisitorFieldEnvironment env) {
+        int depth = 0;
+        for (QueryVisitorFieldEnvironment current = env; current != null; current = current.getParentEnvironment()) {
+            if (isIntrospection(current.getField().getName())) {
+                return 0;
+            }
+            depth++;
+        }
+        return depth;
+    }
+
+    private static boolean isIntrospection(String fieldName) {
+        return fieldName.startsWith("__");
+    }
+}
@@ -0,0 +1,35 @@
+package com.conspiracy.forum.graphql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "forum.graphql.query-cost")
+public class QueryCostProperties {
+
+    private boolean enabled = true;
+
+    private int maxCost = 5000;
+
+    private int maxDepth = 10;
+
+    /**
+     * Estimated number of elements for list fields that take no size argument.
+     */
+    private int defaultListSize = 10;
+
+    /**
+     * Per-field overrides keyed by "Type.field". Composite fields weigh 1 and
+     * scalar fields 0 unless listed here.
+     */
+    private Map<String, Integer> fieldWeights = new HashMap<>();
+
+    /**
+     * Per-field list size estimates keyed by "Type.field", used instead of
+     * defaultListSize for unbounded lists.
+     */
+    private Map<String, Integer> listSizes = new HashMap<>(Map.of("Comment.replies", 5));
+}
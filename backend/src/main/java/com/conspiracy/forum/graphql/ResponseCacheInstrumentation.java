@@ -0,0 +1,88 @@
+package com.conspiracy.forum.graphql;
+
+import com.conspiracy.forum.dto.TheorySummary;
+import com.conspiracy.forum.entity.Theory;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLTypeUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records what an anonymous operation read so that the response cache knows
+ * whether it may store the result and which theory changes evict it.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "forum.graphql.response-cache", name = "enabled", matchIfMissing = true)
+public class ResponseCacheInstrumentation extends SimplePerformantInstrumentation {
+
+    private final ResponseCacheProperties properties;
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        Scope scope = parameters.getExecutionContext().getGraphQLContext().get(Scope.class);
+        if (scope != null
+                && parameters.getExecutionContext().getOperationDefinition().getOperation()
+                != OperationDefinition.Operation.QUERY) {
+            scope.cacheable = false;
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(
+            InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        Scope scope = environment.getGraphQlContext().get(Scope.class);
+        if (scope == null) {
+            return super.beginFieldFetch(parameters, state);
+        }
+
+        if (environment.getExecutionStepInfo().getPath().getLevel() == 1) {
+            String field = environment.getField().getName();
+            if (!field.equals("__typename") && !properties.getFields().contains(field)) {
+                scope.cacheable = false;
+            }
+            if (properties.getListingFields().contains(field)
+                    || GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(environment.getFieldType()))) {
+                scope.listing = true;
+            }
+        } else if (environment.getSource() instanceof Theory theory) {
+            scope.theoryIds.add(theory.getId());
+        } else if (environment.getSource() instanceof TheorySummary summary) {
+            scope.theoryIds.add(summary.id());
+        }
+        return super.beginFieldFetch(parameters, state);
+    }
+
+    static class Scope {
+
+        private final Set<Long> theoryIds = ConcurrentHashMap.newKeySet();
+        private volatile boolean cacheable = true;
+        private volatile boolean listing;
+
+        Set<Long> getTheoryIds() {
+            return theoryIds;
+        }
+
+        boolean isCacheable() {
+            return cacheable;
+        }
+
+        boolean isListing() {
+            return listing;
+        }
+    }
+}
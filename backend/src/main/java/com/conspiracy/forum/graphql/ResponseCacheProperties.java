@@ -0,0 +1,38 @@
+package com.conspiracy.forum.graphql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "forum.graphql.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maxEntries = 1000;
+
+    /**
+     * Upper bound on entry age. Entries are normally evicted by theory change
+     * events, this covers data such as author reputation that is not tracked.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Query fields whose results may be cached. Operations selecting any other
+     * root field bypass the cache.
+     */
+    private Set<String> fields = new HashSet<>(Set.of(
+            "hotTheories", "theories", "theory", "hotTheorySummaries", "theorySummaries", "theoryFacets"));
+
+    /**
+     * Cacheable fields evicted by any listing change. List-typed fields are
+     * always treated as listings, these are the ones that are not, or whose
+     * rows are not theories.
+     */
+    private Set<String> listingFields = new HashSet<>(Set.of(
+            "hotTheorySummaries", "theorySummaries", "theoryFacets"));
+}
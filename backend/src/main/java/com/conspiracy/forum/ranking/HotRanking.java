@@ -0,0 +1,83 @@
+package com.conspiracy.forum.ranking;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.repository.TheoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hacker News style hotness: {@code points / (ageHours + 2) ^ gravity}, where points combine the vote
+ * score and the comment count. The result is stored in {@code theories.hot_score} so hot listings read
+ * an index instead of sorting every row.
+ */
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(HotRankingProperties.class)
+public class HotRanking {
+
+    private final TheoryRepository theoryRepository;
+    private final HotRankingProperties properties;
+
+    public double hotScore(int score, int commentCount, LocalDateTime postedAt, LocalDateTime now) {
+        double points = 1 + score + properties.getCommentWeight() * commentCount;
+        if (points <= 0) {
+            // Do not let downvoted theories climb back towards zero as they age.
+            return points;
+        }
+        double ageHours = Math.max(0, Duration.between(postedAt, now).toSeconds() / 3600.0);
+        return points / Math.pow(ageHours + 2, properties.getGravity());
+    }
+
+    public void refresh(Theory theory) {
+        LocalDateTime postedAt = theory.getPostedAt() != null ? theory.getPostedAt() : LocalDateTime.now();
+        theory.setHotScore(hotScore(theory.getScore(), theory.getCommentCount(), postedAt, LocalDateTime.now()));
+    }
+
+    /**
+     * Recomputes the stored hot score of one theory from the counts currently in the database, for
+     * callers that changed them with bulk updates instead of through the entity.
+     */
+    @Transactional
+    public void refresh(Long theoryId) {
+        theoryRepository.findHotInputsById(theoryId).ifPresent(inputs -> theoryRepository.updateHotScore(
+                inputs.getId(), inputs.getScore(), inputs.getCommentCount(),
+                hotScore(inputs.getScore(), inputs.getCommentCount(), inputs.getPostedAt(), LocalDateTime.now())));
+    }
+
+    /**
+     * Recomputes one batch of theories posted after {@code since}, ordered by id.
+     *
+     * @return the last id in the batch, or null when there is nothing left
+     */
+    @Transactional
+    public Long decayBatch(LocalDateTime since, Long afterId, LocalDateTime now) {
+        return recompute(theoryRepository.findHotInputsAfter(
+                since, afterId, PageRequest.ofSize(properties.getDecayBatchSize())), now);
+    }
+
+    /**
+     * Recomputes one batch of theories posted before {@code until}, ordered by id.
+     *
+     * @return the last id in the batch, or null when there is nothing left
+     */
+    @Transactional
+    public Long decayStaleBatch(LocalDateTime until, Long afterId, LocalDateTime now) {
+        return recompute(theoryRepository.findHotInputsBefore(
+                until, afterId, PageRequest.ofSize(properties.getDecayBatchSize())), now);
+    }
+
+    private Long recompute(List<TheoryRepository.HotInputs> batch, LocalDateTime now) {
+        for (TheoryRepository.HotInputs inputs : batch) {
+            theoryRepository.updateHotScore(inputs.getId(), inputs.getScore(), inputs.getCommentCount(),
+                    hotScore(inputs.getScore(), inputs.getCommentCount(), inputs.getPostedAt(), now));
+        }
+        return batch.isEmpty() ? null : batch.get(batch.size() - 1).getId();
+    }
+}
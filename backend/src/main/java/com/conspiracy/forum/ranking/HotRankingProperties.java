@@ -0,0 +1,45 @@
+package com.conspiracy.forum.ranking;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "forum.hot-ranking")
+public class HotRankingProperties {
+
+    /**
+     * Exponent applied to the age in hours; higher values push older theories down faster.
+     */
+    private double gravity = 1.8;
+
+    /**
+     * How many vote points a single comment is worth.
+     */
+    private double commentWeight = 2.0;
+
+    private boolean decayEnabled = true;
+
+    private Duration decayInterval = Duration.ofMinutes(5);
+
+    /**
+     * Theories younger than this are re-decayed every {@link #decayInterval}.
+     */
+    private Duration decayWindow = Duration.ofDays(7);
+
+    /**
+     * How often theories older than {@link #decayWindow} are re-decayed. Their scores move slowly, but
+     * left alone each would keep the score it had when it last changed.
+     */
+    private Duration staleDecayInterval = Duration.ofHours(6);
+
+    private int decayBatchSize = 500;
+
+    private boolean leaderboardEnabled = true;
+
+    /**
+     * Number of top theories kept in memory for hotTheories; deeper pages go to the database.
+     */
+    private int leaderboardSize = 500;
+}
@@ -0,0 +1,50 @@
+package com.conspiracy.forum.ranking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@EnableScheduling
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "forum.hot-ranking", name = "decay-enabled", matchIfMissing = true)
+public class HotScoreDecayJob {
+
+    private final HotRanking hotRanking;
+    private final HotTheoryLeaderboard leaderboard;
+    private final HotRankingProperties properties;
+
+    @Scheduled(fixedDelayString = "${forum.hot-ranking.decay-interval:PT5M}")
+    public void decay() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = now.minus(properties.getDecayWindow());
+        int batches = 0;
+        for (Long afterId = hotRanking.decayBatch(since, 0L, now); afterId != null;
+             afterId = hotRanking.decayBatch(since, afterId, now)) {
+            batches++;
+        }
+        log.debug("Re-decayed hot scores in {} batches", batches);
+        // Decay moves rows without change events, so the in-memory order is reloaded from the index.
+        leaderboard.rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${forum.hot-ranking.stale-decay-interval:PT6H}",
+            initialDelayString = "${forum.hot-ranking.stale-decay-interval:PT6H}")
+    public void decayStale() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.minus(properties.getDecayWindow());
+        int batches = 0;
+        for (Long afterId = hotRanking.decayStaleBatch(until, 0L, now); afterId != null;
+             afterId = hotRanking.decayStaleBatch(until, afterId, now)) {
+            batches++;
+        }
+        log.debug("Re-decayed stale hot scores in {} batches", batches);
+        leaderboard.rebuild();
+    }
+}
@@ -0,0 +1,199 @@
+package com.conspiracy.forum.ranking;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.event.TheoryChangedEvent;
+import com.conspiracy.forum.repository.TheoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * The top {@code leaderboardSize} theories by hot score, kept in memory so the first pages of
+ * hotTheories need no SQL.
+ *
+ * <p>The board always holds an exact prefix of the database order (hot_score DESC, id DESC). A
+ * theory outside the board only enters when it beats the current last entry, unless the board
+ * already holds every theory, and a board left short by a theory falling off is refilled from the
+ * database. Writers are serialized and publish a new immutable board, so readers never lock and
+ * never see a changed theory halfway between its old and new place.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotTheoryLeaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::hotScore).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::id).reversed());
+
+    private final TheoryRepository theoryRepository;
+    private final HotRankingProperties properties;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Board board = new Board(List.of(), false);
+    private volatile boolean ready;
+
+    /**
+     * Serves a page from memory when the board covers it.
+     */
+    public Optional<Slice<Theory>> page(Pageable pageable) {
+        if (!ready || !properties.isLeaderboardEnabled()) {
+            return Optional.empty();
+        }
+        Board current = board;
+        List<Entry> entries = current.entries();
+        long end = pageable.getOffset() + pageable.getPageSize();
+        if (!current.complete() && end > entries.size()) {
+            return Optional.empty();
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), entries.size());
+        int to = (int) Math.min(end, entries.size());
+        List<Theory> content = new ArrayList<>(to - from);
+        for (Entry entry : entries.subList(from, to)) {
+            content.add(copyOf(entry.theory()));
+        }
+        boolean hasNext = to < entries.size() || !current.complete();
+        return Optional.of(new SliceImpl<>(content, pageable, hasNext));
+    }
+
+    public int size() {
+        return board.entries().size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isLeaderboardEnabled()) {
+            return;
+        }
+        int capacity = properties.getLeaderboardSize();
+        writeLock.lock();
+        try {
+            List<Theory> top = theoryRepository.findByOrderByHotScoreDescIdDesc(Limit.of(capacity + 1));
+            Map<Long, List<String>> urls = evidenceUrls(top.stream().map(Theory::getId).toList());
+
+            board = new Board(top.stream().limit(capacity).map(theory -> snapshot(theory, urls)).toList(),
+                    top.size() <= capacity);
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Rebuilt hot leaderboard with {} theories", size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTheoryChanged(TheoryChangedEvent event) {
+        if (!ready || event.change() == TheoryChangedEvent.Change.COMMENT_EDITED) {
+            return;
+        }
+        int capacity = properties.getLeaderboardSize();
+        writeLock.lock();
+        try {
+            List<Entry> entries = new ArrayList<>(board.entries());
+            boolean complete = board.complete();
+            entries.removeIf(entry -> entry.id() == event.theoryId());
+
+            Optional<Theory> theory = event.change() == TheoryChangedEvent.Change.DELETED
+                    ? Optional.empty()
+                    : theoryRepository.findById(event.theoryId());
+            if (theory.isPresent()) {
+                Entry candidate = snapshot(theory.get(), evidenceUrls(List.of(event.theoryId())));
+                boolean belongs = complete
+                        || (!entries.isEmpty() && ORDER.compare(candidate, entries.get(entries.size() - 1)) < 0);
+                if (belongs) {
+                    entries.add(-Collections.binarySearch(entries, candidate, ORDER) - 1, candidate);
+                    if (entries.size() > capacity) {
+                        entries.remove(entries.size() - 1);
+                        complete = false;
+                    }
+                }
+            }
+            if (!complete && entries.size() < capacity) {
+                complete = backfill(entries, capacity);
+            }
+            board = new Board(List.copyOf(entries), complete);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Appends the theories ranked right after the board's last entry until it is full again.
+     *
+     * @return whether the board now holds every theory
+     */
+    private boolean backfill(List<Entry> entries, int capacity) {
+        int missing = capacity - entries.size();
+        Entry last = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+        List<Theory> following = last == null
+                ? theoryRepository.findByOrderByHotScoreDescIdDesc(Limit.of(missing + 1))
+                : theoryRepository.findHotAfter(last.hotScore(), last.id(), PageRequest.ofSize(missing + 1));
+        Set<Long> onBoard = entries.stream().map(Entry::id).collect(Collectors.toSet());
+        List<Theory> added = following.stream()
+                .limit(missing)
+                .filter(theory -> !onBoard.contains(theory.getId()))
+                .toList();
+        Map<Long, List<String>> urls = evidenceUrls(added.stream().map(Theory::getId).toList());
+        added.forEach(theory -> entries.add(snapshot(theory, urls)));
+        return following.size() <= missing;
+    }
+
+    private Map<Long, List<String>> evidenceUrls(Collection<Long> theoryIds) {
+        Map<Long, List<String>> urls = new HashMap<>();
+        if (theoryIds.isEmpty()) {
+            return urls;
+        }
+        for (TheoryRepository.EvidenceUrl url : theoryRepository.findEvidenceUrlsByTheoryIds(theoryIds)) {
+            urls.computeIfAbsent(url.getTheoryId(), id -> new ArrayList<>()).add(url.getUrl());
+        }
+        return urls;
+    }
+
+    private static Entry snapshot(Theory theory, Map<Long, List<String>> urls) {
+        Theory copy = copyOf(theory);
+        copy.setEvidenceUrls(List.copyOf(urls.getOrDefault(theory.getId(), List.of())));
+        return new Entry(theory.getId(), theory.getHotScore(), copy);
+    }
+
+    // Detached copy without associations; the author is resolved through authorId and the batch loaders.
+    private static Theory copyOf(Theory theory) {
+        return Theory.builder()
+                .id(theory.getId())
+                .title(theory.getTitle())
+                .content(theory.getContent())
+                .status(theory.getStatus())
+                .evidenceUrls(theory.getEvidenceUrls())
+                .postedAt(theory.getPostedAt())
+                .updatedAt(theory.getUpdatedAt())
+                .isAnonymousPost(theory.isAnonymousPost())
+                .authorId(theory.getAuthorId())
+                .comments(List.of())
+                .commentCount(theory.getCommentCount())
+                .score(theory.getScore())
+                .hotScore(theory.getHotScore())
+                .build();
+    }
+
+    private record Entry(long id, double hotScore, Theory theory) {}
+
+    private record Board(List<Entry> entries, boolean complete) {}
+}
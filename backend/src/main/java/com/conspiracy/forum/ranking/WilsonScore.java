@@ -0,0 +1,27 @@
+package com.conspiracy.forum.ranking;
+
+/**
+ * Lower bound of the Wilson score interval for the share of upvotes, at 95% confidence. Unlike the
+ * raw score it ranks a comment with 10 up and 1 down above one with 40 up and 30 down, and a single
+ * lucky upvote does not outrank a well-established comment. The result is stored in
+ * {@code comments.best_score} so the "best" ordering reads an index.
+ */
+public final class WilsonScore {
+
+    private static final double Z = 1.96;
+
+    private WilsonScore() {
+    }
+
+    public static double lowerBound(int upVotes, int downVotes) {
+        int total = upVotes + downVotes;
+        if (total <= 0) {
+            return 0;
+        }
+        double n = total;
+        double p = upVotes / n;
+        double zSquared = Z * Z;
+        return (p + zSquared / (2 * n) - Z * Math.sqrt((p * (1 - p) + zSquared / (4 * n)) / n))
+                / (1 + zSquared / n);
+    }
+}
@@ -1,20 +1,90 @@
 package com.conspiracy.forum.repository;
 
 import com.conspiracy.forum.entity.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByTheoryIdOrderByPostedAtDesc(Long theoryId);
-    List<Comment> findByTheoryIdAndParentIsNullOrderByPostedAtDesc(Long theoryId);
+    List<Comment> findByTheoryId(Long theoryId, Sort sort);
+    List<Comment> findByTheoryIdAndParentIsNull(Long theoryId, Sort sort);
     List<Comment> findByParentIdOrderByPostedAtAsc(Long parentId);
-    Page<Comment> findByTheoryId(Long theoryId, Pageable pageable);
+    List<Comment> findByTheoryIdInOrderByPostedAtAscIdAsc(Collection<Long> theoryIds);
+    List<Comment> findByTheoryIdInOrderByPostedAtDescIdDesc(Collection<Long> theoryIds);
+
+    @Query(value = "SELECT c.* FROM comments c WHERE c.id IN (" +
+                   "SELECT ranked.id FROM (" +
+                   "SELECT lc.id AS id, ROW_NUMBER() OVER (PARTITION BY lc.theory_id ORDER BY lc.posted_at DESC, lc.id DESC) AS rn " +
+                   "FROM comments lc WHERE lc.theory_id IN (:theoryIds)" +
+                   ") ranked WHERE ranked.rn <= :limit" +
+                   ") ORDER BY c.posted_at DESC, c.id DESC",
+           nativeQuery = true)
+    List<Comment> findLatestByTheoryIds(@Param("theoryIds") Collection<Long> theoryIds, @Param("limit") int limit);
+
+    @Query(value = "SELECT c.* FROM comments c WHERE c.id IN (" +
+                   "SELECT ranked.id FROM (" +
+                   "SELECT r.id AS id, ROW_NUMBER() OVER (PARTITION BY r.parent_id ORDER BY r.posted_at, r.id) AS rn " +
+                   "FROM comments r WHERE r.parent_id IN (:parentIds)" +
+                   ") ranked WHERE ranked.rn <= :limit" +
+                   ") ORDER BY c.posted_at, c.id",
+           nativeQuery = true)
+    List<Comment> findFirstRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds, @Param("limit") int limit);
+    Window<Comment> findByParentIdOrderByPostedAtAscIdAsc(Long parentId, ScrollPosition position, Limit limit);
+    Slice<Comment> findByTheoryId(Long theoryId, Pageable pageable);
+    Window<Comment> findByTheoryId(Long theoryId, ScrollPosition position, Sort sort, Limit limit);
     Page<Comment> findByTheoryIdAndParentIsNull(Long theoryId, Pageable pageable);
     Page<Comment> findByAuthorId(Long authorId, Pageable pageable);
     int countByTheoryId(Long theoryId);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = CASE WHEN c.replyCount + :delta < 0 THEN 0 "
+            + "ELSE c.replyCount + :delta END WHERE c.id = :id")
+    int addToReplyCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Applies one vote change to a comment's tallies and re-ranks it in the same statement. Every
+     * right-hand side reads the row as it was before the update, so {@code best_score} is the Wilson
+     * lower bound ({@link com.conspiracy.forum.ranking.WilsonScore}) of the new tallies. Concurrent
+     * votes queue on the row lock instead of overwriting each other.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.score = c.score + :upDelta - :downDelta, "
+            + "c.upVotes = c.upVotes + :upDelta, c.downVotes = c.downVotes + :downDelta, "
+            + "c.bestScore = CASE WHEN c.upVotes + :upDelta + c.downVotes + :downDelta <= 0 THEN 0.0 "
+            + "ELSE (c.upVotes + :upDelta + 1.9208 - 1.96 * SQRT(1.0 * (c.upVotes + :upDelta) * (c.downVotes + :downDelta) "
+            + "/ (c.upVotes + :upDelta + c.downVotes + :downDelta) + 0.9604)) "
+            + "/ (c.upVotes + :upDelta + c.downVotes + :downDelta + 3.8416) END "
+            + "WHERE c.id = :id")
+    int applyVote(@Param("id") Long id, @Param("upDelta") int upDelta, @Param("downDelta") int downDelta);
+
+    /** Ids of a theory's comments in the page's order, read from the sort index without loading rows. */
+    @Query("SELECT c.id FROM Comment c WHERE c.theory.id = :theoryId")
+    List<Long> findIdsByTheoryId(@Param("theoryId") Long theoryId, Pageable pageable);
+
+    // Bulk deletes run one depth at a time, deepest first, so no statement removes a parent before its replies
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Comment c WHERE c.theory.id = :theoryId AND c.depth = :depth")
+    int deleteByTheoryIdAndDepth(@Param("theoryId") Long theoryId, @Param("depth") int depth);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Comment c WHERE c.path >= :path AND c.path < :upperBound AND c.depth = :depth")
+    int deleteSubtreeAtDepth(@Param("path") String path, @Param("upperBound") String upperBound,
+                             @Param("depth") int depth);
+
+    /** Every comment whose path starts with the given one, in depth-first order, as one range scan. */
+    @Query("SELECT c FROM Comment c WHERE c.path >= :path AND c.path < :upperBound ORDER BY c.path")
+    List<Comment> findSubtree(@Param("path") String path, @Param("upperBound") String upperBound);
 }
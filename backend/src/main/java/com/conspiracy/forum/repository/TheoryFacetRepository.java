@@ -0,0 +1,24 @@
+package com.conspiracy.forum.repository;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.enums.TheoryStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Filter panel counts, read with one grouped aggregate instead of a COUNT per facet.
+ */
+public interface TheoryFacetRepository {
+
+    List<FacetCount> countFacets(Specification<Theory> specification);
+
+    // Needs the search_vector column created by the V1 migration (PostgreSQL only)
+    List<FacetCount> countFacetsBySearchVector(String keyword);
+
+    /**
+     * Number of theories with the given status and exact comment count.
+     */
+    record FacetCount(TheoryStatus status, int commentCount, long theories) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.conspiracy.forum.repository;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.enums.TheoryStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class TheoryFacetRepositoryImpl implements TheoryFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FacetCount> countFacets(Specification<Theory> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FacetCount> query = cb.createQuery(FacetCount.class);
+        Root<Theory> theory = query.from(Theory.class);
+
+        // Counting the non-null status instead of the id keeps every column inside idx_theories_status_comment_count
+        query.select(cb.construct(FacetCount.class,
+                        theory.get("status"), theory.get("commentCount"), cb.count(theory.get("status"))))
+                .groupBy(theory.get("status"), theory.get("commentCount"));
+        Predicate predicate = specification.toPredicate(theory, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<FacetCount> countFacetsBySearchVector(String keyword) {
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                        SELECT t.status, t.comment_count, COUNT(*) FROM theories t
+                        WHERE t.search_vector @@ websearch_to_tsquery('english', :keyword)
+                        GROUP BY t.status, t.comment_count
+                        """)
+                .setParameter("keyword", keyword)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new FacetCount(TheoryStatus.valueOf((String) row[0]),
+                        ((Number) row[1]).intValue(), ((Number) row[2]).longValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,25 @@
+package com.conspiracy.forum.repository;
+
+import com.conspiracy.forum.entity.Theory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Theory listings for selections without {@code content}: every column except the TEXT body is read
+ * and the rows come back as detached theories with {@code content} and {@code evidenceUrls} unset.
+ */
+public interface TheoryListingRepository {
+
+    Slice<Theory> findListing(Specification<Theory> specification, Pageable pageable);
+
+    Window<Theory> findListing(Specification<Theory> specification, Sort sort, KeysetScrollPosition position,
+                               int limit);
+
+    List<Theory> findListing(Specification<Theory> specification, Sort sort);
+}
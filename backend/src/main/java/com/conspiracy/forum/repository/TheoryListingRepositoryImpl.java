@@ -0,0 +1,131 @@
+package com.conspiracy.forum.repository;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.enums.TheoryStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class TheoryListingRepositoryImpl implements TheoryListingRepository {
+
+    private static final List<String> COLUMNS = List.of(
+            "id", "title", "status", "postedAt", "updatedAt", "isAnonymousPost",
+            "authorId", "commentCount", "score", "hotScore");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Theory> findListing(Specification<Theory> specification, Pageable pageable) {
+        TypedQuery<Tuple> query = createQuery(specification, pageable.getSort(), null);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + 1);
+        }
+        List<Tuple> rows = query.getResultList();
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(rows.stream().map(TheoryListingRepositoryImpl::toTheory).toList(), pageable, hasNext);
+    }
+
+    @Override
+    public Window<Theory> findListing(Specification<Theory> specification, Sort sort, KeysetScrollPosition position,
+                                      int limit) {
+        List<Tuple> rows = createQuery(specification, sort, position).setMaxResults(limit + 1).getResultList();
+        boolean hasNext = rows.size() > limit;
+        List<Tuple> page = hasNext ? rows.subList(0, limit) : rows;
+        List<Theory> content = page.stream().map(TheoryListingRepositoryImpl::toTheory).toList();
+        return Window.from(content, index -> ScrollPosition.forward(keysOf(page.get(index), sort)), hasNext);
+    }
+
+    @Override
+    public List<Theory> findListing(Specification<Theory> specification, Sort sort) {
+        return createQuery(specification, sort, null).getResultList().stream()
+                .map(TheoryListingRepositoryImpl::toTheory)
+                .toList();
+    }
+
+    private TypedQuery<Tuple> createQuery(Specification<Theory> specification, Sort sort,
+                                          KeysetScrollPosition position) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Theory> theory = query.from(Theory.class);
+        query.multiselect(COLUMNS.stream().<Selection<?>>map(column -> theory.get(column).alias(column)).toList());
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = specification.toPredicate(theory, query, cb);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (position != null && !position.isInitial()) {
+            predicates.add(after(position.getKeys(), sort, theory, cb));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(QueryUtils.toOrders(sort, theory, cb));
+        return entityManager.createQuery(query);
+    }
+
+    // (k1 past v1) OR (k1 = v1 AND k2 past v2) OR ..., the same expansion Spring Data uses for keyset scrolling
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(Map<String, Object> keys, Sort sort, Root<Theory> theory, CriteriaBuilder cb) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalSoFar = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Comparable value = (Comparable) keys.get(order.getProperty());
+            Path<Comparable> path = theory.get(order.getProperty());
+            List<Predicate> alternative = new ArrayList<>(equalSoFar);
+            alternative.add(order.isDescending() ? cb.lessThan(path, value) : cb.greaterThan(path, value));
+            alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+            equalSoFar.add(cb.equal(path, value));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    private static Map<String, Object> keysOf(Tuple row, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        sort.forEach(order -> keys.put(order.getProperty(), row.get(order.getProperty())));
+        return keys;
+    }
+
+    // Mirrors the leaderboard's detached copies; evidenceUrls stays null so the resolver batch-loads it
+    private static Theory toTheory(Tuple row) {
+        return Theory.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .status(row.get("status", TheoryStatus.class))
+                .evidenceUrls(null)
+                .postedAt(row.get("postedAt", LocalDateTime.class))
+                .updatedAt(row.get("updatedAt", LocalDateTime.class))
+                .isAnonymousPost(row.get("isAnonymousPost", Boolean.class))
+                .authorId(row.get("authorId", Long.class))
+                .comments(List.of())
+                .commentCount(row.get("commentCount", Integer.class))
+                .score(row.get("score", Integer.class))
+                .hotScore(row.get("hotScore", Double.class))
+                .build();
+    }
+}
@@ -2,35 +2,123 @@ package com.conspiracy.forum.repository;
 
 import com.conspiracy.forum.entity.Theory;
 import com.conspiracy.forum.enums.TheoryStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TheoryRepository extends JpaRepository<Theory, Long> {
+public interface TheoryRepository extends JpaRepository<Theory, Long>, JpaSpecificationExecutor<Theory>,
+        TheorySummaryRepository, TheoryListingRepository, TheoryFacetRepository {
     
     Page<Theory> findByAuthorId(Long authorId, Pageable pageable);
     
     Page<Theory> findByStatus(TheoryStatus status, Pageable pageable);
-    
-    @Query("SELECT t FROM Theory t WHERE " +
-           "(:status IS NULL OR t.status = :status) AND " +
-           "(:keyword IS NULL OR :keyword = '' OR LOWER(t.title) LIKE CONCAT('%', LOWER(:keyword), '%') OR " +
-           "LOWER(t.content) LIKE CONCAT('%', LOWER(:keyword), '%'))")
-    Page<Theory> findByFilters(@Param("status") TheoryStatus status, 
-                               @Param("keyword") String keyword, 
-                               Pageable pageable);
-    
-    @Query("SELECT t FROM Theory t WHERE t.commentCount >= :minComments ORDER BY t.commentCount DESC")
-    Page<Theory> findHotTheories(@Param("minComments") int minComments, Pageable pageable);
-    
-    @Query("SELECT t FROM Theory t ORDER BY t.commentCount DESC")
-    Page<Theory> findAllOrderByCommentCountDesc(Pageable pageable);
-    
-    List<Theory> findByAuthorIdOrderByPostedAtDesc(Long authorId);
+
+    List<Theory> findByOrderByHotScoreDescIdDesc(Limit limit);
+
+    /** The theories ranked right after the given one in hot order, read on from the hot score index. */
+    @Query("SELECT t FROM Theory t WHERE t.hotScore < :hotScore OR (t.hotScore = :hotScore AND t.id < :id) "
+            + "ORDER BY t.hotScore DESC, t.id DESC")
+    List<Theory> findHotAfter(@Param("hotScore") double hotScore, @Param("id") Long id, Pageable pageable);
+
+    // Needs the search_vector column and GIN index created by the V1 migration (PostgreSQL only)
+    @Query(value = """
+            SELECT t.* FROM theories t, websearch_to_tsquery('english', :keyword) query
+            WHERE t.search_vector @@ query
+              AND (CAST(:status AS VARCHAR) IS NULL OR t.status = CAST(:status AS VARCHAR))
+            ORDER BY ts_rank_cd(t.search_vector, query) DESC, t.posted_at DESC, t.id DESC
+            """,
+            countQuery = """
+            SELECT COUNT(*) FROM theories t
+            WHERE t.search_vector @@ websearch_to_tsquery('english', :keyword)
+              AND (CAST(:status AS VARCHAR) IS NULL OR t.status = CAST(:status AS VARCHAR))
+            """,
+            nativeQuery = true)
+    Page<Theory> searchByKeyword(@Param("keyword") String keyword, @Param("status") String status, Pageable pageable);
+
+    @Query("SELECT t.id AS theoryId, url AS url FROM Theory t JOIN t.evidenceUrls url WHERE t.id IN :theoryIds "
+            + "ORDER BY t.id, INDEX(url)")
+    List<EvidenceUrl> findEvidenceUrlsByTheoryIds(@Param("theoryIds") Collection<Long> theoryIds);
+
+    @Query("SELECT t.id AS id, t.title AS title, t.content AS content, t.status AS status "
+            + "FROM Theory t WHERE t.id > :afterId ORDER BY t.id")
+    List<TheoryText> findTextsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.title AS title, t.content AS content, t.status AS status "
+            + "FROM Theory t WHERE t.id = :id")
+    Optional<TheoryText> findTextById(@Param("id") Long id);
+
+    @Query("SELECT t.id AS id, t.title AS title, t.score AS score FROM Theory t WHERE t.id > :afterId ORDER BY t.id")
+    List<TheoryTitle> findTitlesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.title AS title, t.score AS score FROM Theory t WHERE t.id = :id")
+    Optional<TheoryTitle> findTitleById(@Param("id") Long id);
+
+    @Query("SELECT t.id AS id, t.score AS score, t.commentCount AS commentCount, t.postedAt AS postedAt "
+            + "FROM Theory t WHERE t.postedAt >= :since AND t.id > :afterId ORDER BY t.id")
+    List<HotInputs> findHotInputsAfter(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                       Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.score AS score, t.commentCount AS commentCount, t.postedAt AS postedAt "
+            + "FROM Theory t WHERE t.postedAt < :until AND t.id > :afterId ORDER BY t.id")
+    List<HotInputs> findHotInputsBefore(@Param("until") LocalDateTime until, @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.score AS score, t.commentCount AS commentCount, t.postedAt AS postedAt "
+            + "FROM Theory t WHERE t.id = :id")
+    Optional<HotInputs> findHotInputsById(@Param("id") Long id);
+
+    // Applied in the database so concurrent comments never overwrite each other's count
+    @Modifying
+    @Query("UPDATE Theory t SET t.commentCount = CASE WHEN t.commentCount + :delta < 0 THEN 0 "
+            + "ELSE t.commentCount + :delta END WHERE t.id = :id")
+    int addToCommentCount(@Param("id") Long id, @Param("delta") int delta);
+
+    // Removes the theory row and its evidence URLs without loading the entity
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Theory t WHERE t.id = :id")
+    int bulkDeleteById(@Param("id") Long id);
+
+    // Skips the row if a vote or comment changed its inputs since they were read
+    @Modifying
+    @Query("UPDATE Theory t SET t.hotScore = :hotScore "
+            + "WHERE t.id = :id AND t.score = :score AND t.commentCount = :commentCount")
+    int updateHotScore(@Param("id") Long id, @Param("score") int score, @Param("commentCount") int commentCount,
+                       @Param("hotScore") double hotScore);
+
+    interface HotInputs {
+        Long getId();
+        int getScore();
+        int getCommentCount();
+        LocalDateTime getPostedAt();
+    }
+
+    interface TheoryText {
+        Long getId();
+        String getTitle();
+        String getContent();
+        TheoryStatus getStatus();
+    }
+
+    interface TheoryTitle {
+        Long getId();
+        String getTitle();
+        int getScore();
+    }
+
+    interface EvidenceUrl {
+        Long getTheoryId();
+        String getUrl();
+    }
 }
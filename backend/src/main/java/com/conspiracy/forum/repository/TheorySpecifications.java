@@ -0,0 +1,51 @@
+package com.conspiracy.forum.repository;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.enums.TheoryStatus;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+public final class TheorySpecifications {
+
+    private TheorySpecifications() {
+    }
+
+    public static Specification<Theory> hasStatus(TheoryStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Theory> containsKeyword(String keyword) {
+        String pattern = "%" + keyword.toLowerCase() + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern),
+                cb.like(cb.lower(root.get("content")), pattern)
+        );
+    }
+
+    public static Specification<Theory> hasMinCommentCount(int minComments) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("commentCount"), minComments);
+    }
+
+    public static Specification<Theory> hasAuthor(Long authorId) {
+        return (root, query, cb) -> cb.equal(root.get("author").get("id"), authorId);
+    }
+
+    public static Specification<Theory> hasIdIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Fetch-joins the given associations. Used where the fluent query's {@code project()} is not
+     * applied, such as scrolling; count queries are left untouched.
+     */
+    public static Specification<Theory> fetching(Collection<String> paths) {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                paths.forEach(path -> root.fetch(path, JoinType.LEFT));
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.conspiracy.forum.repository;
+
+import com.conspiracy.forum.dto.TheorySummary;
+import com.conspiracy.forum.entity.Theory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Card queries that select only the summary columns, with the excerpt cut in SQL.
+ */
+public interface TheorySummaryRepository {
+
+    Slice<TheorySummary> findSummaries(Specification<Theory> specification, Pageable pageable, int excerptLength);
+
+    List<TheorySummary> findSummaries(Specification<Theory> specification, Sort sort, int excerptLength);
+}
@@ -0,0 +1,71 @@
+package com.conspiracy.forum.repository;
+
+import com.conspiracy.forum.dto.TheorySummary;
+import com.conspiracy.forum.entity.Theory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class TheorySummaryRepositoryImpl implements TheorySummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TheorySummary> findSummaries(Specification<Theory> specification, Pageable pageable,
+                                              int excerptLength) {
+        TypedQuery<TheorySummary> query = createQuery(specification, pageable.getSort(), excerptLength);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + 1);
+        }
+        List<TheorySummary> content = query.getResultList();
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public List<TheorySummary> findSummaries(Specification<Theory> specification, Sort sort, int excerptLength) {
+        return createQuery(specification, sort, excerptLength).getResultList();
+    }
+
+    private TypedQuery<TheorySummary> createQuery(Specification<Theory> specification, Sort sort, int excerptLength) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TheorySummary> query = cb.createQuery(TheorySummary.class);
+        Root<Theory> theory = query.from(Theory.class);
+
+        query.select(cb.construct(TheorySummary.class,
+                theory.get("id"),
+                theory.get("title"),
+                cb.substring(theory.get("content"), 1, excerptLength + 1),
+                theory.get("status"),
+                theory.get("postedAt"),
+                theory.get("score"),
+                theory.get("commentCount"),
+                theory.get("isAnonymousPost"),
+                theory.get("authorId"),
+                cb.size(theory.get("evidenceUrls"))));
+
+        Predicate predicate = specification.toPredicate(theory, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, theory, cb));
+        return entityManager.createQuery(query);
+    }
+}
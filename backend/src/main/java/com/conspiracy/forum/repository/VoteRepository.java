@@ -5,6 +5,9 @@ import com.conspiracy.forum.entity.Theory;
 import com.conspiracy.forum.entity.User;
 import com.conspiracy.forum.entity.Vote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,4 +16,19 @@ import java.util.Optional;
 public interface VoteRepository extends JpaRepository<Vote, Long> {
     Optional<Vote> findByUserAndTheory(User user, Theory theory);
     Optional<Vote> findByUserAndComment(User user, Comment comment);
+
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.theory.id = :theoryId")
+    int deleteByTheoryId(@Param("theoryId") Long theoryId);
+
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.comment.id IN (SELECT c.id FROM Comment c WHERE c.theory.id = :theoryId)")
+    int deleteByCommentTheoryId(@Param("theoryId") Long theoryId);
+
+    // The theory filter is redundant but keeps the planner's row estimate for the path range realistic
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.comment.id IN (SELECT c.id FROM Comment c "
+            + "WHERE c.theory.id = :theoryId AND c.path >= :path AND c.path < :upperBound)")
+    int deleteByCommentSubtree(@Param("theoryId") Long theoryId, @Param("path") String path,
+                               @Param("upperBound") String upperBound);
 }
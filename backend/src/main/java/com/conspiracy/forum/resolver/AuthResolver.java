@@ -12,30 +12,37 @@ import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.stereotype.Controller;
 
+import java.util.concurrent.Callable;
+
 @Controller
 @RequiredArgsConstructor
 public class AuthResolver {
 
     private final AuthService authService;
 
+    // BCrypt hashing and SMTP block for a long time, so these run on the
+    // application task executor, which uses virtual threads when enabled.
+
     @MutationMapping
-    public AuthResponse register(@Argument RegisterRequest input) {
-        return authService.register(input);
+    public Callable<AuthResponse> register(@Argument RegisterRequest input) {
+        return () -> authService.register(input);
     }
 
     @MutationMapping
-    public AuthResponse login(@Argument LoginRequest input) {
-        return authService.login(input);
+    public Callable<AuthResponse> login(@Argument LoginRequest input) {
+        return () -> authService.login(input);
     }
 
     @MutationMapping
-    public boolean changePassword(@Argument ChangePasswordRequest input) {
-        String username = SecurityUtils.getAuthenticatedUsername();
-        return authService.changePassword(username, input);
+    public Callable<Boolean> changePassword(@Argument ChangePasswordRequest input) {
+        return () -> {
+            String username = SecurityUtils.getAuthenticatedUsername();
+            return authService.changePassword(username, input);
+        };
     }
 
     @MutationMapping
-    public boolean forgotPassword(@Argument ForgotPasswordRequest input) {
-        return authService.forgotPassword(input);
+    public Callable<Boolean> forgotPassword(@Argument ForgotPasswordRequest input) {
+        return () -> authService.forgotPassword(input);
     }
 }
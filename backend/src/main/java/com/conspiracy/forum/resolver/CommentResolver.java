@@ -1,13 +1,18 @@
 package com.conspiracy.forum.resolver;
 
+import com.conspiracy.forum.config.DataLoaderConfig.CommentRepliesKey;
 import com.conspiracy.forum.dto.CommentInput;
+import com.conspiracy.forum.dto.Connection;
 import com.conspiracy.forum.dto.PageInput;
 import com.conspiracy.forum.entity.Comment;
 import com.conspiracy.forum.entity.Theory;
 import com.conspiracy.forum.entity.User;
+import com.conspiracy.forum.enums.CommentSort;
 import com.conspiracy.forum.service.CommentService;
+import com.conspiracy.forum.service.CommentTree;
 import com.conspiracy.forum.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
@@ -15,6 +20,7 @@ import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
@@ -23,16 +29,28 @@ public class CommentResolver {
     private final CommentService commentService;
 
     @QueryMapping
-    public List<Comment> commentsByTheory(@Argument Long theoryId, @Argument PageInput page) {
+    public List<Comment> commentsByTheory(@Argument Long theoryId, @Argument PageInput page,
+                                          @Argument CommentSort sort) {
         if (page != null) {
-            return commentService.getCommentsByTheoryPaginated(theoryId, page).getContent();
+            return commentService.getCommentsByTheoryPaginated(theoryId, page, sort).getContent();
         }
-        return commentService.getCommentsByTheory(theoryId);
+        return commentService.getCommentsByTheory(theoryId, sort);
     }
 
     @QueryMapping
-    public List<Comment> rootCommentsByTheory(@Argument Long theoryId) {
-        return commentService.getRootCommentsByTheory(theoryId);
+    public Connection<Comment> commentsByTheoryConnection(@Argument Long theoryId, @Argument Integer first,
+                                                          @Argument String after, @Argument CommentSort sort) {
+        return commentService.getCommentsByTheoryConnection(theoryId, first, after, sort);
+    }
+
+    @QueryMapping
+    public List<Comment> rootCommentsByTheory(@Argument Long theoryId, @Argument CommentSort sort) {
+        return commentService.getRootCommentsByTheory(theoryId, sort);
+    }
+
+    @QueryMapping
+    public List<Comment> commentThread(@Argument Long id) {
+        return commentService.getCommentThread(id);
     }
 
     @QueryMapping
@@ -59,19 +77,19 @@ public class CommentResolver {
     }
 
     @SchemaMapping(typeName = "Comment", field = "author")
-    public User getAuthor(Comment comment) {
+    public CompletableFuture<User> getAuthor(Comment comment, DataLoader<Long, User> userLoader) {
         if (comment.isAnonymousPost()) {
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
-        return comment.getAuthor();
+        return userLoader.load(comment.getAuthor().getId());
     }
 
     @SchemaMapping(typeName = "Comment", field = "authorName")
-    public String getAuthorName(Comment comment) {
+    public CompletableFuture<String> getAuthorName(Comment comment, DataLoader<Long, User> userLoader) {
         if (comment.isAnonymousPost()) {
-            return "Anonymous Truth Seeker";
+            return CompletableFuture.completedFuture("Anonymous Truth Seeker");
         }
-        return comment.getAuthor().getUsername();
+        return userLoader.load(comment.getAuthor().getId()).thenApply(User::getUsername);
     }
 
     @SchemaMapping(typeName = "Comment", field = "theory")
@@ -85,7 +103,22 @@ public class CommentResolver {
     }
 
     @SchemaMapping(typeName = "Comment", field = "replies")
-    public List<Comment> getReplies(Comment comment) {
-        return commentService.getReplies(comment.getId());
+    public CompletableFuture<List<Comment>> getReplies(Comment comment, DataLoader<Long, CommentTree> commentTreeLoader) {
+        return commentTreeLoader.load(comment.getTheory().getId())
+                .thenApply(tree -> tree.getReplies(comment.getId()));
+    }
+
+    @SchemaMapping(typeName = "Comment", field = "repliesConnection")
+    public CompletableFuture<Connection<Comment>> getRepliesConnection(
+            Comment comment, @Argument Integer first, @Argument String after,
+            DataLoader<CommentRepliesKey, Connection<Comment>> commentReplies) {
+        if (after != null) {
+            return CompletableFuture.completedFuture(commentService.getRepliesConnection(comment.getId(), first, after));
+        }
+        if (comment.getReplyCount() == 0) {
+            return CompletableFuture.completedFuture(
+                    new Connection<>(List.of(), new Connection.PageInfo(false, false, null, null)));
+        }
+        return commentReplies.load(new CommentRepliesKey(comment.getId(), first));
     }
 }
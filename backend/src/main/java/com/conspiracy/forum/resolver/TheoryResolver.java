@@ -1,16 +1,25 @@
 package com.conspiracy.forum.resolver;
 
+import com.conspiracy.forum.config.DataLoaderConfig.TheoryCommentsKey;
+import com.conspiracy.forum.dto.Connection;
 import com.conspiracy.forum.dto.PageInput;
+import com.conspiracy.forum.dto.TheoryFacets;
+import com.conspiracy.forum.dto.TheoryFetchPlan;
 import com.conspiracy.forum.dto.TheoryFilter;
 import com.conspiracy.forum.dto.TheoryInput;
+import com.conspiracy.forum.dto.TheorySummary;
 import com.conspiracy.forum.entity.Comment;
 import com.conspiracy.forum.entity.Theory;
 import com.conspiracy.forum.entity.User;
-import com.conspiracy.forum.service.CommentService;
+import com.conspiracy.forum.search.TitleTrie;
 import com.conspiracy.forum.service.TheoryService;
 import com.conspiracy.forum.util.SecurityUtils;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
@@ -18,17 +27,18 @@ import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
 public class TheoryResolver {
 
     private final TheoryService theoryService;
-    private final CommentService commentService;
 
     @QueryMapping
-    public List<Theory> theories(@Argument TheoryFilter filter, @Argument PageInput page) {
-        return theoryService.getTheories(filter, page).getContent();
+    public List<Theory> theories(@Argument TheoryFilter filter, @Argument PageInput page,
+                                 DataFetchingFieldSelectionSet selectionSet) {
+        return theoryService.getTheorySlice(filter, page, fetchPlan(selectionSet, "")).getContent();
     }
 
     @QueryMapping
@@ -37,18 +47,25 @@ public class TheoryResolver {
     }
 
     @QueryMapping
-    public List<Theory> theoriesByUser(@Argument Long userId) {
-        return theoryService.getTheoriesByUser(userId);
+    public List<Theory> theoriesByUser(@Argument Long userId, DataFetchingFieldSelectionSet selectionSet) {
+        return theoryService.getTheoriesByUser(userId, fetchPlan(selectionSet, ""));
     }
 
     @QueryMapping
-    public List<Theory> hotTheories(@Argument PageInput page) {
-        return theoryService.getHotTheories(page).getContent();
+    public List<Theory> hotTheories(@Argument PageInput page, DataFetchingFieldSelectionSet selectionSet) {
+        return theoryService.getHotTheories(page, fetchPlan(selectionSet, "")).getContent();
     }
 
     @QueryMapping
-    public TheoriesPage theoriesPaginated(@Argument TheoryFilter filter, @Argument PageInput page) {
-        Page<Theory> result = theoryService.getTheories(filter, page);
+    public TheoriesPage theoriesPaginated(@Argument TheoryFilter filter, @Argument PageInput page,
+                                          DataFetchingFieldSelectionSet selectionSet) {
+        TheoryFetchPlan plan = fetchPlan(selectionSet, "content/");
+        if (!selectionSet.contains("totalElements") && !selectionSet.contains("totalPages")) {
+            Slice<Theory> result = theoryService.getTheorySlice(filter, page, plan);
+            return new TheoriesPage(result.getContent(), null, null,
+                    result.getNumber() + 1, result.hasNext(), result.hasPrevious());
+        }
+        Page<Theory> result = theoryService.getTheories(filter, page, plan);
         return new TheoriesPage(
                 result.getContent(),
                 result.getTotalElements(),
@@ -59,6 +76,58 @@ public class TheoryResolver {
         );
     }
 
+    @QueryMapping
+    public Connection<Theory> theoriesConnection(@Argument TheoryFilter filter, @Argument Integer first,
+                                                 @Argument String after, DataFetchingFieldSelectionSet selectionSet) {
+        return theoryService.getTheoriesConnection(filter, first, after, fetchPlan(selectionSet, "edges/node/"));
+    }
+
+    @QueryMapping
+    public Connection<Theory> hotTheoriesConnection(@Argument Integer first, @Argument String after,
+                                                    DataFetchingFieldSelectionSet selectionSet) {
+        return theoryService.getHotTheoriesConnection(first, after, fetchPlan(selectionSet, "edges/node/"));
+    }
+
+    @QueryMapping
+    public TheorySummaryPage theorySummaries(@Argument TheoryFilter filter, @Argument PageInput page,
+                                             DataFetchingFieldSelectionSet selectionSet) {
+        int excerptLength = excerptLength(selectionSet, "content/");
+        if (!selectionSet.contains("totalElements") && !selectionSet.contains("totalPages")) {
+            Slice<TheorySummary> result = theoryService.getTheorySummarySlice(filter, page, excerptLength);
+            return new TheorySummaryPage(result.getContent(), null, null,
+                    result.getNumber() + 1, result.hasNext(), result.hasPrevious());
+        }
+        Page<TheorySummary> result = theoryService.getTheorySummaries(filter, page, excerptLength);
+        return new TheorySummaryPage(
+                result.getContent(),
+                result.getTotalElements(),
+                result.getTotalPages(),
+                result.getNumber() + 1,
+                result.hasNext(),
+                result.hasPrevious()
+        );
+    }
+
+    @QueryMapping
+    public List<TheorySummary> hotTheorySummaries(@Argument PageInput page, DataFetchingFieldSelectionSet selectionSet) {
+        return theoryService.getHotTheorySummaries(page, excerptLength(selectionSet, "")).getContent();
+    }
+
+    @QueryMapping
+    public List<TheorySummary> theorySummariesByUser(@Argument Long userId, DataFetchingFieldSelectionSet selectionSet) {
+        return theoryService.getTheorySummariesByUser(userId, excerptLength(selectionSet, ""));
+    }
+
+    @QueryMapping
+    public TheoryFacets theoryFacets(@Argument TheoryFilter filter) {
+        return theoryService.getTheoryFacets(filter);
+    }
+
+    @QueryMapping
+    public List<TitleTrie.Suggestion> suggestTheories(@Argument String prefix, @Argument Integer limit) {
+        return theoryService.suggestTheories(prefix, limit);
+    }
+
     @MutationMapping
     public Theory createTheory(@Argument TheoryInput input) {
         String username = SecurityUtils.getAuthenticatedUsername();
@@ -78,30 +147,94 @@ public class TheoryResolver {
     }
 
     @SchemaMapping(typeName = "Theory", field = "comments")
-    public List<Comment> getComments(Theory theory) {
-        return commentService.getCommentsByTheory(theory.getId());
+    public CompletableFuture<List<Comment>> getComments(Theory theory, @Argument Integer limit,
+                                                        DataLoader<TheoryCommentsKey, List<Comment>> theoryComments) {
+        return theoryComments.load(new TheoryCommentsKey(theory.getId(), limit));
+    }
+
+    @SchemaMapping(typeName = "Theory", field = "evidenceUrls")
+    public CompletableFuture<List<String>> getEvidenceUrls(Theory theory, DataLoader<Long, List<String>> evidenceUrls) {
+        // Null on theories read through the listing projection
+        if (theory.getEvidenceUrls() != null && Hibernate.isInitialized(theory.getEvidenceUrls())) {
+            return CompletableFuture.completedFuture(theory.getEvidenceUrls());
+        }
+        return evidenceUrls.load(theory.getId()).thenApply(urls -> urls != null ? urls : List.of());
     }
 
     @SchemaMapping(typeName = "Theory", field = "author")
-    public User getAuthor(Theory theory) {
+    public CompletableFuture<User> getAuthor(Theory theory, DataLoader<Long, User> userLoader) {
         if (theory.isAnonymousPost()) {
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
-        return theory.getAuthor();
+        return loadAuthor(theory, userLoader);
     }
 
     @SchemaMapping(typeName = "Theory", field = "authorName")
-    public String getAuthorName(Theory theory) {
+    public CompletableFuture<String> getAuthorName(Theory theory, DataLoader<Long, User> userLoader) {
         if (theory.isAnonymousPost()) {
-            return "Anonymous Truth Seeker";
+            return CompletableFuture.completedFuture("Anonymous Truth Seeker");
+        }
+        return loadAuthor(theory, userLoader).thenApply(User::getUsername);
+    }
+
+    @SchemaMapping(typeName = "TheorySummary", field = "excerpt")
+    public String getExcerpt(TheorySummary summary, @Argument Integer length) {
+        return summary.excerpt(TheorySummary.resolveExcerptLength(length));
+    }
+
+    @SchemaMapping(typeName = "TheorySummary", field = "author")
+    public CompletableFuture<User> getSummaryAuthor(TheorySummary summary, DataLoader<Long, User> userLoader) {
+        if (summary.isAnonymousPost()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return userLoader.load(summary.authorId());
+    }
+
+    @SchemaMapping(typeName = "TheorySummary", field = "authorName")
+    public CompletableFuture<String> getSummaryAuthorName(TheorySummary summary, DataLoader<Long, User> userLoader) {
+        if (summary.isAnonymousPost()) {
+            return CompletableFuture.completedFuture("Anonymous Truth Seeker");
         }
-        return theory.getAuthor().getUsername();
+        return userLoader.load(summary.authorId()).thenApply(User::getUsername);
+    }
+
+    private static CompletableFuture<User> loadAuthor(Theory theory, DataLoader<Long, User> userLoader) {
+        User author = theory.getAuthor();
+        if (author != null && Hibernate.isInitialized(author)) {
+            return CompletableFuture.completedFuture(author);
+        }
+        return userLoader.load(author != null ? author.getId() : theory.getAuthorId());
+    }
+
+    private static TheoryFetchPlan fetchPlan(DataFetchingFieldSelectionSet selectionSet, String theoryPath) {
+        return new TheoryFetchPlan(
+                selectionSet.contains(theoryPath + "author") || selectionSet.contains(theoryPath + "authorName"),
+                selectionSet.contains(theoryPath + "evidenceUrls"),
+                selectionSet.contains(theoryPath + "content")
+        );
+    }
+
+    // The SQL cut covers the longest excerpt selected, including aliased excerpts of other lengths.
+    private static int excerptLength(DataFetchingFieldSelectionSet selectionSet, String summaryPath) {
+        return selectionSet.getFields(summaryPath + "excerpt").stream()
+                .map(field -> TheorySummary.resolveExcerptLength((Integer) field.getArguments().get("length")))
+                .max(Integer::compare)
+                .orElse(0);
     }
 
     public record TheoriesPage(
             List<Theory> content,
-            long totalElements,
-            int totalPages,
+            Long totalElements,
+            Integer totalPages,
+            int currentPage,
+            boolean hasNext,
+            boolean hasPrevious
+    ) {}
+
+    public record TheorySummaryPage(
+            List<TheorySummary> content,
+            Long totalElements,
+            Integer totalPages,
             int currentPage,
             boolean hasNext,
             boolean hasPrevious
@@ -0,0 +1,255 @@
+package com.conspiracy.forum.search;
+
+import com.conspiracy.forum.enums.TheoryStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory BM25 index over theory titles and contents. Updates append a new
+ * internal document and retire the old one, so posting lists stay sorted and
+ * append-only; once retired documents outnumber live ones they are dropped and
+ * the live ones renumbered.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 2;
+    private static final int MIN_DOCS_TO_COMPACT = 1000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<String, Integer> documentFrequencies = new HashMap<>();
+    private List<Document> documents = new ArrayList<>();
+    private final Map<Long, Integer> docIdsByTheory = new HashMap<>();
+    private long totalLength;
+    private int retiredDocuments;
+
+    public record Hit(Long theoryId, double score) {
+    }
+
+    public record SearchResult(List<Hit> hits, int totalMatches) {
+    }
+
+    /**
+     * A theory analysed outside the index lock, ready to be added.
+     */
+    public record AnalyzedTheory(Long theoryId, TheoryStatus status, Map<String, Integer> termFrequencies,
+                                 int length) {
+
+        public static AnalyzedTheory of(Long theoryId, String title, String content, TheoryStatus status) {
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            int length = 0;
+            for (String token : Tokenizer.tokenize(title)) {
+                termFrequencies.merge(token, TITLE_BOOST, Integer::sum);
+                length += TITLE_BOOST;
+            }
+            for (String token : Tokenizer.tokenize(content)) {
+                termFrequencies.merge(token, 1, Integer::sum);
+                length++;
+            }
+            return new AnalyzedTheory(theoryId, status, termFrequencies, length);
+        }
+    }
+
+    private record Document(Long theoryId, TheoryStatus status, String[] terms, int length) {
+    }
+
+    public void index(AnalyzedTheory theory) {
+        lock.writeLock().lock();
+        try {
+            retire(theory.theoryId());
+            append(theory);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long theoryId) {
+        lock.writeLock().lock();
+        try {
+            retire(theoryId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given segments, which must hold
+     * distinct theories. Segments are built independently so that callers can
+     * analyse and encode them in parallel.
+     */
+    public void replaceAll(List<Segment> segments) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentFrequencies.clear();
+            documents = new ArrayList<>();
+            docIdsByTheory.clear();
+            totalLength = 0;
+            retiredDocuments = 0;
+
+            for (Segment segment : segments) {
+                int offset = documents.size();
+                for (Document document : segment.documents) {
+                    docIdsByTheory.put(document.theoryId(), documents.size());
+                    documents.add(document);
+                    totalLength += document.length();
+                }
+                segment.postings.forEach((term, segmentPostings) -> {
+                    PostingList merged = postings.computeIfAbsent(term, t -> new PostingList());
+                    segmentPostings.forEach((docId, termFrequency) -> merged.add(offset + docId, termFrequency));
+                    documentFrequencies.merge(term, segmentPostings.size(), Integer::sum);
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, TheoryStatus status, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int liveDocuments = docIdsByTheory.size();
+            if (liveDocuments == 0) {
+                return new SearchResult(List.of(), 0);
+            }
+            double averageLength = (double) totalLength / liveDocuments;
+
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : new LinkedHashSet<>(Tokenizer.tokenize(query))) {
+                PostingList termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int documentFrequency = documentFrequencies.get(term);
+                double idf = Math.log(1 + (liveDocuments - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                termPostings.forEach((docId, termFrequency) -> {
+                    Document document = documents.get(docId);
+                    if (document == null || (status != null && document.status() != status)) {
+                        return;
+                    }
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    scores.merge(docId, idf * termFrequency * (K1 + 1) / (termFrequency + norm), Double::sum);
+                });
+            }
+
+            List<Hit> hits = scores.entrySet().stream()
+                    .map(entry -> new Hit(documents.get(entry.getKey()).theoryId(), entry.getValue()))
+                    .sorted(Comparator.comparingDouble(Hit::score).reversed()
+                            .thenComparing(Hit::theoryId, Comparator.reverseOrder()))
+                    .skip(offset)
+                    .limit(limit)
+                    .toList();
+            return new SearchResult(hits, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByTheory.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int postingBytes() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream().mapToInt(PostingList::sizeInBytes).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int documentSlots() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(AnalyzedTheory theory) {
+        int docId = documents.size();
+        String[] terms = theory.termFrequencies().keySet().toArray(String[]::new);
+        documents.add(new Document(theory.theoryId(), theory.status(), terms, theory.length()));
+        docIdsByTheory.put(theory.theoryId(), docId);
+        totalLength += theory.length();
+        theory.termFrequencies().forEach((term, termFrequency) -> {
+            postings.computeIfAbsent(term, t -> new PostingList()).add(docId, termFrequency);
+            documentFrequencies.merge(term, 1, Integer::sum);
+        });
+    }
+
+    private void retire(Long theoryId) {
+        Integer docId = docIdsByTheory.remove(theoryId);
+        if (docId == null) {
+            return;
+        }
+        Document document = documents.set(docId, null);
+        totalLength -= document.length();
+        for (String term : document.terms()) {
+            documentFrequencies.merge(term, -1, Integer::sum);
+        }
+        retiredDocuments++;
+    }
+
+    private void compactIfNeeded() {
+        if (retiredDocuments < MIN_DOCS_TO_COMPACT || retiredDocuments < docIdsByTheory.size()) {
+            return;
+        }
+        // Live documents keep their relative order, so renumbered posting lists stay sorted
+        int[] newDocIds = new int[documents.size()];
+        List<Document> live = new ArrayList<>(docIdsByTheory.size());
+        for (int docId = 0; docId < documents.size(); docId++) {
+            Document document = documents.get(docId);
+            if (document == null) {
+                newDocIds[docId] = -1;
+            } else {
+                newDocIds[docId] = live.size();
+                docIdsByTheory.put(document.theoryId(), live.size());
+                live.add(document);
+            }
+        }
+        documents = live;
+        postings.replaceAll((term, termPostings) -> termPostings.renumber(newDocIds));
+        postings.values().removeIf(termPostings -> termPostings.size() == 0);
+        documentFrequencies.values().removeIf(frequency -> frequency == 0);
+        retiredDocuments = 0;
+    }
+
+    /**
+     * A batch of theories encoded with segment-local document ids.
+     */
+    public static final class Segment {
+
+        private List<Document> documents = new ArrayList<>();
+        private final Map<String, PostingList> postings = new HashMap<>();
+
+        public static Segment of(List<AnalyzedTheory> theories) {
+            Segment segment = new Segment();
+            for (AnalyzedTheory theory : theories) {
+                int docId = segment.documents.size();
+                String[] terms = theory.termFrequencies().keySet().toArray(String[]::new);
+                segment.documents.add(new Document(theory.theoryId(), theory.status(), terms, theory.length()));
+                theory.termFrequencies().forEach((term, termFrequency) ->
+                        segment.postings.computeIfAbsent(term, t -> new PostingList()).add(docId, termFrequency));
+            }
+            return segment;
+        }
+    }
+}
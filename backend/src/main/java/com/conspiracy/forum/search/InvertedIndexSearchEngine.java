@@ -0,0 +1,137 @@
+package com.conspiracy.forum.search;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.enums.TheoryStatus;
+import com.conspiracy.forum.event.TheoryChangedEvent;
+import com.conspiracy.forum.repository.TheoryFacetRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import com.conspiracy.forum.repository.TheorySpecifications;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "forum.search.engine", havingValue = "memory")
+public class InvertedIndexSearchEngine implements SearchEngine {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Keeps each IN list well below PostgreSQL's limit of 32767 bind parameters
+    static final int FACET_BATCH_SIZE = 1000;
+
+    private final TheoryRepository theoryRepository;
+    private final InvertedIndex index = new InvertedIndex();
+    private volatile Set<Long> changedDuringRebuild;
+
+    @Override
+    public Page<Theory> search(String keyword, TheoryStatus status, Pageable pageable) {
+        InvertedIndex.SearchResult result = index.search(keyword, status,
+                (int) pageable.getOffset(), pageable.getPageSize());
+
+        List<Long> ids = result.hits().stream().map(InvertedIndex.Hit::theoryId).toList();
+        Map<Long, Theory> theoriesById = theoryRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Theory::getId, Function.identity()));
+        List<Theory> theories = ids.stream()
+                .map(theoriesById::get)
+                .filter(theory -> theory != null)
+                .toList();
+
+        return new PageImpl<>(theories, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()),
+                result.totalMatches());
+    }
+
+    // Comment counts are not indexed, so the matching ids are grouped in the database batch by batch.
+    @Override
+    public List<TheoryFacetRepository.FacetCount> countFacets(String keyword) {
+        List<Long> ids = index.search(keyword, null, 0, Integer.MAX_VALUE).hits().stream()
+                .map(InvertedIndex.Hit::theoryId)
+                .toList();
+        Map<TheoryStatus, Map<Integer, Long>> totals = new EnumMap<>(TheoryStatus.class);
+        for (int from = 0; from < ids.size(); from += FACET_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + FACET_BATCH_SIZE, ids.size()));
+            Specification<Theory> inBatch = TheorySpecifications.hasIdIn(batch);
+            for (TheoryFacetRepository.FacetCount count : theoryRepository.countFacets(inBatch)) {
+                totals.computeIfAbsent(count.status(), status -> new TreeMap<>())
+                        .merge(count.commentCount(), count.theories(), Long::sum);
+            }
+        }
+        List<TheoryFacetRepository.FacetCount> counts = new ArrayList<>();
+        totals.forEach((status, byCommentCount) -> byCommentCount.forEach((commentCount, theories) ->
+                counts.add(new TheoryFacetRepository.FacetCount(status, commentCount, theories))));
+        return counts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+        List<List<TheoryRepository.TheoryText>> batches = new ArrayList<>();
+        long lastId = 0;
+        List<TheoryRepository.TheoryText> batch;
+        do {
+            batch = theoryRepository.findTextsAfter(lastId, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+            if (!batch.isEmpty()) {
+                batches.add(batch);
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        List<InvertedIndex.Segment> segments = batches.parallelStream()
+                .map(texts -> InvertedIndex.Segment.of(texts.stream().map(InvertedIndexSearchEngine::analyze).toList()))
+                .toList();
+        index.replaceAll(segments);
+        changedDuringRebuild = null;
+        // Changes applied to the old index while the batches were read would otherwise be lost
+        changed.forEach(this::reindex);
+
+        log.info("Indexed {} theories for search in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTheoryChanged(TheoryChangedEvent event) {
+        if (!event.contentChanged()) {
+            return;
+        }
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(event.theoryId());
+        }
+        reindex(event.theoryId());
+    }
+
+    InvertedIndex getIndex() {
+        return index;
+    }
+
+    private void reindex(Long theoryId) {
+        theoryRepository.findTextById(theoryId).ifPresentOrElse(
+                text -> index.index(analyze(text)),
+                () -> index.remove(theoryId)
+        );
+    }
+
+    private static InvertedIndex.AnalyzedTheory analyze(TheoryRepository.TheoryText text) {
+        return InvertedIndex.AnalyzedTheory.of(text.getId(), text.getTitle(), text.getContent(), text.getStatus());
+    }
+}
@@ -0,0 +1,37 @@
+package com.conspiracy.forum.search;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.enums.TheoryStatus;
+import com.conspiracy.forum.repository.TheoryFacetRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import com.conspiracy.forum.repository.TheorySpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "forum.search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeSearchEngine implements SearchEngine {
+
+    private final TheoryRepository theoryRepository;
+
+    @Override
+    public Page<Theory> search(String keyword, TheoryStatus status, Pageable pageable) {
+        Specification<Theory> specification = TheorySpecifications.containsKeyword(keyword);
+        if (status != null) {
+            specification = specification.and(TheorySpecifications.hasStatus(status));
+        }
+        return theoryRepository.findAll(specification, pageable);
+    }
+
+    @Override
+    public List<TheoryFacetRepository.FacetCount> countFacets(String keyword) {
+        return theoryRepository.countFacets(TheorySpecifications.containsKeyword(keyword));
+    }
+}
@@ -0,0 +1,34 @@
+package com.conspiracy.forum.search;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.enums.TheoryStatus;
+import com.conspiracy.forum.repository.TheoryFacetRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "forum.search.engine", havingValue = "postgres")
+public class PostgresSearchEngine implements SearchEngine {
+
+    private final TheoryRepository theoryRepository;
+
+    @Override
+    public Page<Theory> search(String keyword, TheoryStatus status, Pageable pageable) {
+        // Results are ordered by relevance in the query itself
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return theoryRepository.searchByKeyword(keyword, status != null ? status.name() : null, unsorted);
+    }
+
+    @Override
+    public List<TheoryFacetRepository.FacetCount> countFacets(String keyword) {
+        return theoryRepository.countFacetsBySearchVector(keyword);
+    }
+}
@@ -0,0 +1,90 @@
+package com.conspiracy.forum.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only list of (document, term frequency) pairs for one term. Document
+ * ids are stored as gaps from the previous id and both numbers are
+ * variable-byte encoded, so most postings take two bytes.
+ */
+final class PostingList {
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int size;
+    private int lastDocId = -1;
+
+    void add(int docId, int termFrequency) {
+        if (docId <= lastDocId) {
+            throw new IllegalArgumentException("Document ids must be added in increasing order");
+        }
+        writeVarInt(docId - lastDocId);
+        writeVarInt(termFrequency);
+        lastDocId = docId;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    void forEach(PostingConsumer consumer) {
+        int position = 0;
+        int docId = -1;
+        while (position < length) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            docId += value;
+
+            int termFrequency = 0;
+            shift = 0;
+            do {
+                b = bytes[position++];
+                termFrequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            consumer.accept(docId, termFrequency);
+        }
+    }
+
+    /**
+     * Returns a copy with every document id replaced by {@code newDocIds[docId]}, dropping
+     * documents mapped to -1. The mapping must preserve order.
+     */
+    PostingList renumber(int[] newDocIds) {
+        PostingList compacted = new PostingList();
+        forEach((docId, termFrequency) -> {
+            if (newDocIds[docId] >= 0) {
+                compacted.add(newDocIds[docId], termFrequency);
+            }
+        });
+        return compacted;
+    }
+
+    private void writeVarInt(int value) {
+        if (length + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(int docId, int termFrequency);
+    }
+}
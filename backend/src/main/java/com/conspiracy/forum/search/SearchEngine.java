@@ -0,0 +1,26 @@
+package com.conspiracy.forum.search;
+
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.enums.TheoryStatus;
+import com.conspiracy.forum.repository.TheoryFacetRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Keyword search over theories, selected with forum.search.engine.
+ */
+public interface SearchEngine {
+
+    /**
+     * Returns one page of theories matching the keyword, optionally restricted
+     * to a status. Engines that rank by relevance ignore the pageable's sort.
+     */
+    Page<Theory> search(String keyword, TheoryStatus status, Pageable pageable);
+
+    /**
+     * Counts all theories matching the keyword, grouped by status and comment count.
+     */
+    List<TheoryFacetRepository.FacetCount> countFacets(String keyword);
+}
@@ -0,0 +1,80 @@
+package com.conspiracy.forum.search;
+
+import com.conspiracy.forum.event.TheoryChangedEvent;
+import com.conspiracy.forum.repository.TheoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link TitleTrie} of all theory titles in sync with theory writes for search box suggestions.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TitleSuggester {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final TheoryRepository theoryRepository;
+    private final TitleTrie trie = new TitleTrie();
+    private volatile Set<Long> changedDuringRebuild;
+
+    public List<TitleTrie.Suggestion> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+        List<TitleTrie.Suggestion> entries = new ArrayList<>();
+        long lastId = 0;
+        List<TheoryRepository.TheoryTitle> batch;
+        do {
+            batch = theoryRepository.findTitlesAfter(lastId, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+            for (TheoryRepository.TheoryTitle title : batch) {
+                entries.add(new TitleTrie.Suggestion(title.getId(), title.getTitle(), title.getScore()));
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        trie.replaceAll(entries);
+        changedDuringRebuild = null;
+        // Changes applied to the old trie while the batches were read would otherwise be lost
+        changed.forEach(this::refresh);
+
+        log.info("Indexed {} theory titles for suggestions in {} ms", trie.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTheoryChanged(TheoryChangedEvent event) {
+        if (!event.contentChanged() && event.change() != TheoryChangedEvent.Change.VOTED) {
+            return;
+        }
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(event.theoryId());
+        }
+        refresh(event.theoryId());
+    }
+
+    private void refresh(Long theoryId) {
+        theoryRepository.findTitleById(theoryId).ifPresentOrElse(
+                title -> trie.put(title.getId(), title.getTitle(), title.getScore()),
+                () -> trie.remove(theoryId)
+        );
+    }
+}
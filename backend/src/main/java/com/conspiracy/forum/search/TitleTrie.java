@@ -0,0 +1,288 @@
+package com.conspiracy.forum.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed trie over normalized theory titles. Every node keeps the best {@value #TOP_K} titles
+ * below it by score, so a lookup is a walk down the prefix. Writes only repair the top lists on
+ * the path to the changed title.
+ */
+public class TitleTrie {
+
+    public static final int TOP_K = 10;
+
+    private static final Comparator<Suggestion> ORDER = Comparator.comparingInt(Suggestion::score).reversed()
+            .thenComparing(Comparator.comparingLong(Suggestion::id).reversed());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node("");
+    private Map<Long, Suggestion> entriesById = new HashMap<>();
+
+    public record Suggestion(Long id, String title, int score) {
+    }
+
+    private static final class Node {
+
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Suggestion> terminals = new ArrayList<>(1);
+        private List<Suggestion> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalizePrefix(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+            return node.top.subList(0, Math.min(limit, node.top.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long id, String title, int score) {
+        Suggestion entry = new Suggestion(id, title, score);
+        String key = normalize(title);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (!key.isEmpty()) {
+                repair(insert(root, key, entry));
+                entriesById.put(id, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new trie outside the lock and swaps it in.
+     */
+    public void replaceAll(Collection<Suggestion> entries) {
+        Node newRoot = new Node("");
+        Map<Long, Suggestion> newEntries = new HashMap<>();
+        for (Suggestion entry : entries) {
+            String key = normalize(entry.title());
+            if (!key.isEmpty() && newEntries.putIfAbsent(entry.id(), entry) == null) {
+                insert(newRoot, key, entry);
+            }
+        }
+        computeTop(newRoot);
+
+        lock.writeLock().lock();
+        try {
+            root = newRoot;
+            entriesById = newEntries;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses every run of non-alphanumeric characters into a single space.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean separator = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                separator = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                separator = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    // A typed separator ends the word, so "moon " does not match "moonshine".
+    private static String normalizePrefix(String prefix) {
+        String key = normalize(prefix);
+        if (!key.isEmpty() && !Character.isLetterOrDigit(prefix.charAt(prefix.length() - 1))) {
+            return key + ' ';
+        }
+        return key;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(offset));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefixLength(child.label, prefix, offset);
+            if (offset + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            offset += common;
+        }
+        return node;
+    }
+
+    private static List<Node> insert(Node root, String key, Suggestion entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.children.get(key.charAt(offset));
+            if (child == null) {
+                child = new Node(key.substring(offset));
+                node.children.put(key.charAt(offset), child);
+                offset = key.length();
+            } else {
+                int common = commonPrefixLength(child.label, key, offset);
+                if (common < child.label.length()) {
+                    child = split(node, child, common);
+                }
+                offset += common;
+            }
+            node = child;
+            path.add(node);
+        }
+        node.terminals.add(entry);
+        return path;
+    }
+
+    // Cuts the edge into child after `length` characters and returns the node inserted there.
+    private static Node split(Node parent, Node child, int length) {
+        Node middle = new Node(child.label.substring(0, length));
+        child.label = child.label.substring(length);
+        middle.children.put(child.label.charAt(0), child);
+        middle.top = child.top;
+        parent.children.put(middle.label.charAt(0), middle);
+        return middle;
+    }
+
+    private void removeLocked(Long id) {
+        Suggestion entry = entriesById.remove(id);
+        if (entry == null) {
+            return;
+        }
+        List<Node> path = pathTo(normalize(entry.title()));
+        path.get(path.size() - 1).terminals.remove(entry);
+        prune(path);
+        repair(path);
+    }
+
+    private List<Node> pathTo(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int offset = 0;
+        while (offset < key.length()) {
+            node = node.children.get(key.charAt(offset));
+            path.add(node);
+            offset += node.label.length();
+        }
+        return path;
+    }
+
+    // Drops the emptied leaf and merges a remaining single-child node into its child.
+    private static void prune(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (!node.terminals.isEmpty() || node.children.size() > 1) {
+                return;
+            }
+            Node parent = path.get(i - 1);
+            if (node.children.isEmpty()) {
+                parent.children.remove(node.label.charAt(0));
+                path.remove(i);
+            } else {
+                Node child = node.children.values().iterator().next();
+                child.label = node.label + child.label;
+                parent.children.put(child.label.charAt(0), child);
+                path.set(i, child);
+                return;
+            }
+        }
+    }
+
+    private static void repair(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            node.top = best(node);
+        }
+    }
+
+    private static void computeTop(Node node) {
+        for (Node child : node.children.values()) {
+            computeTop(child);
+        }
+        node.top = best(node);
+    }
+
+    private static List<Suggestion> best(Node node) {
+        List<Suggestion> candidates = new ArrayList<>(node.terminals);
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(ORDER);
+        return List.copyOf(candidates.subList(0, Math.min(TOP_K, candidates.size())));
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = 0;
+        while (length < label.length() && offset + length < key.length()
+                && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,45 @@
+package com.conspiracy.forum.service;
+
+import com.conspiracy.forum.ranking.HotRanking;
+import com.conspiracy.forum.repository.CommentRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps {@code theories.comment_count} and {@code comments.reply_count} in step with comment writes.
+ * Every change is a single {@code UPDATE ... SET count = count + delta}, so concurrent comments on a hot
+ * theory queue on the row lock instead of overwriting each other, and no other column is rewritten.
+ * Entities already loaded in the caller's persistence context keep their old counts.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentCounters {
+
+    private final TheoryRepository theoryRepository;
+    private final CommentRepository commentRepository;
+    private final HotRanking hotRanking;
+
+    @Transactional
+    public void commentAdded(Long theoryId, Long parentId) {
+        theoryRepository.addToCommentCount(theoryId, 1);
+        if (parentId != null) {
+            commentRepository.addToReplyCount(parentId, 1);
+        }
+        hotRanking.refresh(theoryId);
+    }
+
+    /**
+     * Records the removal of a comment under {@code parentId} together with its replies, {@code count}
+     * comments in total.
+     */
+    @Transactional
+    public void commentsRemoved(Long theoryId, Long parentId, int count) {
+        theoryRepository.addToCommentCount(theoryId, -count);
+        if (parentId != null) {
+            commentRepository.addToReplyCount(parentId, -1);
+        }
+        hotRanking.refresh(theoryId);
+    }
+}
@@ -0,0 +1,47 @@
+package com.conspiracy.forum.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Frozen orderings of a theory's comment ids, taken when the first page of a vote-ranked connection is
+ * read so later pages can resume from the same order however votes move comments meanwhile. Snapshots
+ * live in this instance's memory and are dropped after a quarter of an hour unread, or sooner under
+ * memory pressure; callers fall back to keyset paging when one is gone.
+ */
+@Component
+public class CommentRankSnapshots {
+
+    /** Ids held across all snapshots, about 8 MB of longs. */
+    private static final long MAX_IDS = 1_000_000;
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(15);
+
+    /**
+     * @param ids      comment ids in rank order
+     * @param complete false when {@code ids} stops short of the theory's last comment
+     */
+    public record Snapshot(List<Long> ids, boolean complete) {}
+
+    private final Cache<String, Snapshot> snapshots = Caffeine.newBuilder()
+            .maximumWeight(MAX_IDS)
+            .weigher((String token, Snapshot snapshot) -> snapshot.ids().size())
+            .expireAfterAccess(IDLE_TIMEOUT)
+            .build();
+
+    /** Stores the snapshot and returns the token a cursor refers to it by. */
+    public String put(Snapshot snapshot) {
+        String token = UUID.randomUUID().toString();
+        snapshots.put(token, snapshot);
+        return token;
+    }
+
+    /** The snapshot for a token, or null when it has expired or never existed. */
+    public Snapshot get(String token) {
+        return snapshots.getIfPresent(token);
+    }
+}
@@ -1,25 +1,40 @@
 package com.conspiracy.forum.service;
 
 import com.conspiracy.forum.dto.CommentInput;
+import com.conspiracy.forum.dto.Connection;
 import com.conspiracy.forum.dto.PageInput;
 import com.conspiracy.forum.entity.Comment;
 import com.conspiracy.forum.entity.Theory;
 import com.conspiracy.forum.entity.User;
+import com.conspiracy.forum.enums.CommentSort;
+import com.conspiracy.forum.event.TheoryChangedEvent;
 import com.conspiracy.forum.exception.ResourceNotFoundException;
 import com.conspiracy.forum.exception.UnauthorizedException;
 import com.conspiracy.forum.exception.ValidationException;
 import com.conspiracy.forum.repository.CommentRepository;
 import com.conspiracy.forum.repository.TheoryRepository;
 import com.conspiracy.forum.repository.UserRepository;
+import com.conspiracy.forum.repository.VoteRepository;
 import com.conspiracy.forum.util.PaginationUtils;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,49 +43,201 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final TheoryRepository theoryRepository;
     private final UserRepository userRepository;
+    private final VoteRepository voteRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CommentCounters commentCounters;
+    private final CommentRankSnapshots rankSnapshots;
 
     private static final int MIN_CONTENT_LENGTH = 10;
-    private static final int MAX_COMMENT_DEPTH = 4;
+    private static final Sort REPLY_SORT = Sort.by(Sort.Direction.ASC, "postedAt", "id");
+    private static final int RANK_SNAPSHOT_SIZE = 5000;
+    private static final String SNAPSHOT_KEY = "snapshot";
+    private static final String OFFSET_KEY = "offset";
 
     @Transactional(readOnly = true)
-    public List<Comment> getCommentsByTheory(Long theoryId) {
+    public List<Comment> getCommentsByTheory(Long theoryId, CommentSort sort) {
         if (!theoryRepository.existsById(theoryId)) {
             throw new ResourceNotFoundException("Theory not found with id: " + theoryId);
         }
-        return commentRepository.findByTheoryIdOrderByPostedAtDesc(theoryId);
+        return commentRepository.findByTheoryId(theoryId, sortOf(sort));
     }
 
     @Transactional(readOnly = true)
-    public List<Comment> getRootCommentsByTheory(Long theoryId) {
+    public List<Comment> getRootCommentsByTheory(Long theoryId, CommentSort sort) {
         if (!theoryRepository.existsById(theoryId)) {
             throw new ResourceNotFoundException("Theory not found with id: " + theoryId);
         }
-        return commentRepository.findByTheoryIdAndParentIsNullOrderByPostedAtDesc(theoryId);
+        return commentRepository.findByTheoryIdAndParentIsNull(theoryId, sortOf(sort));
     }
 
     @Transactional(readOnly = true)
-    public List<Comment> getReplies(Long parentId) {
-        if (!commentRepository.existsById(parentId)) {
-            throw new ResourceNotFoundException("Parent comment not found with id: " + parentId);
+    public Map<Long, List<Comment>> getCommentsByTheories(Collection<Long> theoryIds, Integer limit) {
+        List<Comment> comments;
+        if (limit == null) {
+            comments = commentRepository.findByTheoryIdInOrderByPostedAtDescIdDesc(theoryIds);
+        } else if (limit < 1) {
+            throw new ValidationException("Comment limit must be at least 1");
+        } else {
+            comments = commentRepository.findLatestByTheoryIds(theoryIds, limit);
         }
-        return commentRepository.findByParentIdOrderByPostedAtAsc(parentId);
+        return comments.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getTheory().getId()));
     }
 
     @Transactional(readOnly = true)
-    public Page<Comment> getCommentsByTheoryPaginated(Long theoryId, PageInput pageInput) {
+    public Map<Long, CommentTree> getCommentTrees(Collection<Long> theoryIds) {
+        Map<Long, List<Comment>> commentsByTheory = commentRepository
+                .findByTheoryIdInOrderByPostedAtAscIdAsc(theoryIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getTheory().getId()));
+
+        Map<Long, CommentTree> trees = new HashMap<>();
+        for (Long theoryId : theoryIds) {
+            trees.put(theoryId, CommentTree.of(commentsByTheory.getOrDefault(theoryId, List.of())));
+        }
+        return trees;
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Comment> getCommentsByTheoryPaginated(Long theoryId, PageInput pageInput, CommentSort sort) {
         if (!theoryRepository.existsById(theoryId)) {
             throw new ResourceNotFoundException("Theory not found with id: " + theoryId);
         }
-        Pageable pageable = PaginationUtils.createPageable(pageInput);
+        Pageable pageable = PaginationUtils.createPageable(pageInput, sortOf(sort));
         return commentRepository.findByTheoryId(theoryId, pageable);
     }
 
+    /**
+     * Cursor pages of a theory's comments. Newest and oldest pages are keyset pages on the posting time,
+     * which never changes. Top and best pages rank by votes, which can move a comment across the cursor
+     * between pages, so their first page freezes the ranked ids in {@link CommentRankSnapshots} and later
+     * pages read on from that order: no comment is repeated or skipped, comments posted since are left
+     * out and deleted ones drop out. Every cursor also holds its comment's sort key and id, so once the
+     * snapshot has expired, or past its first {@value #RANK_SNAPSHOT_SIZE} ids, paging carries on as
+     * keyset pages after that comment.
+     */
+    @Transactional(readOnly = true)
+    public Connection<Comment> getCommentsByTheoryConnection(Long theoryId, Integer first, String after,
+                                                             CommentSort sort) {
+        if (!theoryRepository.existsById(theoryId)) {
+            throw new ResourceNotFoundException("Theory not found with id: " + theoryId);
+        }
+        Sort order = sortOf(sort);
+        int limit = PaginationUtils.resolveLimit(first);
+        Map<String, Object> cursor = after == null || after.isBlank() ? null : PaginationUtils.decodeCursor(after);
+        ScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null) {
+            Map<String, Object> keys = new LinkedHashMap<>(cursor);
+            keys.remove(SNAPSHOT_KEY);
+            keys.remove(OFFSET_KEY);
+            position = PaginationUtils.keysetPosition(keys, order);
+        }
+
+        if (sort == CommentSort.TOP || sort == CommentSort.BEST) {
+            Connection<Comment> ranked = rankedConnection(theoryId, order, limit, cursor);
+            if (ranked != null) {
+                return ranked;
+            }
+        }
+        return PaginationUtils.toConnection(
+                commentRepository.findByTheoryId(theoryId, position, order, Limit.of(limit)),
+                !position.isInitial());
+    }
+
+    /**
+     * A page read from the snapshot a ranked cursor refers to, or from a new one for the first page.
+     * Returns null when the cursor's snapshot is gone or used up, leaving the page to keyset paging.
+     */
+    private Connection<Comment> rankedConnection(Long theoryId, Sort order, int limit, Map<String, Object> cursor) {
+        CommentRankSnapshots.Snapshot snapshot;
+        String token = null;
+        int offset = 0;
+        if (cursor == null) {
+            List<Long> ids = commentRepository.findIdsByTheoryId(theoryId, PageRequest.of(0, RANK_SNAPSHOT_SIZE + 1, order));
+            snapshot = new CommentRankSnapshots.Snapshot(
+                    List.copyOf(ids.subList(0, Math.min(ids.size(), RANK_SNAPSHOT_SIZE))), ids.size() <= RANK_SNAPSHOT_SIZE);
+            // A single page is never resumed, so it needs no snapshot
+            if (snapshot.ids().size() > limit || !snapshot.complete()) {
+                token = rankSnapshots.put(snapshot);
+            }
+        } else {
+            token = (String) cursor.get(SNAPSHOT_KEY);
+            snapshot = token == null ? null : rankSnapshots.get(token);
+            offset = (Integer) cursor.getOrDefault(OFFSET_KEY, 0);
+            if (snapshot == null || offset >= snapshot.ids().size()) {
+                return null;
+            }
+        }
+
+        List<Long> ids = snapshot.ids();
+        int end = Math.min(offset + limit, ids.size());
+        Map<Long, Comment> comments = commentRepository.findAllById(ids.subList(offset, end)).stream()
+                .collect(Collectors.toMap(Comment::getId, comment -> comment));
+        String sortKey = order.iterator().next().getProperty();
+        List<Connection.Edge<Comment>> edges = new ArrayList<>();
+        for (int i = offset; i < end; i++) {
+            Comment comment = comments.get(ids.get(i));
+            if (comment == null) {
+                continue;
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if ("score".equals(sortKey)) {
+                keys.put(sortKey, comment.getScore());
+            } else {
+                keys.put(sortKey, comment.getBestScore());
+            }
+            keys.put("id", comment.getId());
+            if (token != null) {
+                keys.put(SNAPSHOT_KEY, token);
+                keys.put(OFFSET_KEY, i + 1);
+            }
+            edges.add(new Connection.Edge<>(comment, PaginationUtils.encodeCursor(keys)));
+        }
+        return PaginationUtils.toConnection(edges, end < ids.size() || !snapshot.complete(), offset > 0);
+    }
+
+    /**
+     * First page of replies for each parent, oldest first, batched into one windowed query.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Connection<Comment>> getFirstReplies(Collection<Long> parentIds, Integer first) {
+        int limit = PaginationUtils.resolveLimit(first);
+        Map<Long, List<Comment>> repliesByParent = commentRepository.findFirstRepliesByParentIds(parentIds, limit + 1)
+                .stream()
+                .collect(Collectors.groupingBy(reply -> reply.getParent().getId()));
+
+        Map<Long, Connection<Comment>> connections = new HashMap<>();
+        for (Long parentId : parentIds) {
+            connections.put(parentId, PaginationUtils.toConnection(
+                    repliesByParent.getOrDefault(parentId, List.of()), limit, CommentService::replyCursorKeys));
+        }
+        return connections;
+    }
+
+    @Transactional(readOnly = true)
+    public Connection<Comment> getRepliesConnection(Long parentId, Integer first, String after) {
+        ScrollPosition position = PaginationUtils.createScrollPosition(after, REPLY_SORT);
+        return PaginationUtils.toConnection(
+                commentRepository.findByParentIdOrderByPostedAtAscIdAsc(
+                        parentId, position, Limit.of(PaginationUtils.resolveLimit(first))),
+                !position.isInitial());
+    }
+
     @Transactional(readOnly = true)
     public Comment getCommentById(Long id) {
         return commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
     }
 
+    /**
+     * Returns the comment followed by all of its replies at any depth, depth first with siblings
+     * oldest first. Each comment's {@code depth} tells how far to indent it.
+     */
+    @Transactional(readOnly = true)
+    public List<Comment> getCommentThread(Long id) {
+        Comment comment = getCommentById(id);
+        return commentRepository.findSubtree(comment.getPath(), Comment.subtreeUpperBound(comment.getPath()));
+    }
+
     @Transactional
     public Comment createComment(CommentInput input, String username) {
         validateCommentInput(input);
@@ -78,8 +245,11 @@ public class CommentService {
         User author = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
 
-        Theory theory = theoryRepository.findById(input.getTheoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Theory not found with id: " + input.getTheoryId()));
+        if (!theoryRepository.existsById(input.getTheoryId())) {
+            throw new ResourceNotFoundException("Theory not found with id: " + input.getTheoryId());
+        }
+        // A reference is enough to link the comment; the counters below never load the theory row
+        Theory theory = theoryRepository.getReferenceById(input.getTheoryId());
 
         Comment parent = null;
         if (input.getParentId() != null) {
@@ -88,8 +258,7 @@ public class CommentService {
             if (!parent.getTheory().getId().equals(theory.getId())) {
                 throw new ValidationException("Parent comment must belong to the same theory");
             }
-            int depth = getCommentDepth(parent);
-            if (depth >= MAX_COMMENT_DEPTH) {
+            if (parent.getDepth() >= Comment.MAX_DEPTH) {
                 throw new ValidationException("Maximum comment nesting depth reached");
             }
         }
@@ -103,9 +272,8 @@ public class CommentService {
                 .build();
 
         Comment savedComment = commentRepository.save(comment);
-        
-        theory.incrementCommentCount();
-        theoryRepository.save(theory);
+        commentCounters.commentAdded(theory.getId(), parent != null ? parent.getId() : null);
+        eventPublisher.publishEvent(new TheoryChangedEvent(theory.getId(), TheoryChangedEvent.Change.COMMENT_ADDED));
 
         return savedComment;
     }
@@ -125,7 +293,9 @@ public class CommentService {
         comment.setContent(content);
         comment.setUpdatedAt(LocalDateTime.now());
 
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new TheoryChangedEvent(comment.getTheory().getId(), TheoryChangedEvent.Change.COMMENT_EDITED));
+        return savedComment;
     }
 
     @Transactional
@@ -136,14 +306,53 @@ public class CommentService {
             throw new UnauthorizedException("You can only delete your own comments");
         }
 
-        Theory theory = comment.getTheory();
-        theory.decrementCommentCount();
-        theoryRepository.save(theory);
+        Long theoryId = comment.getTheory().getId();
+        Long parentId = comment.getParent() != null ? comment.getParent().getId() : null;
+        String upperBound = Comment.subtreeUpperBound(comment.getPath());
 
-        commentRepository.delete(comment);
+        voteRepository.deleteByCommentSubtree(theoryId, comment.getPath(), upperBound);
+        int deleted = 0;
+        for (int depth = Comment.MAX_DEPTH; depth >= comment.getDepth(); depth--) {
+            deleted += commentRepository.deleteSubtreeAtDepth(comment.getPath(), upperBound, depth);
+        }
+
+        commentCounters.commentsRemoved(theoryId, parentId, deleted);
+        eventPublisher.publishEvent(new TheoryChangedEvent(theoryId, TheoryChangedEvent.Change.COMMENT_REMOVED));
         return true;
     }
 
+    /**
+     * Deletes every comment of a theory and the votes on them with a handful of set-based statements.
+     *
+     * @return the number of comments deleted
+     */
+    @Transactional
+    public int deleteAllForTheory(Long theoryId) {
+        voteRepository.deleteByCommentTheoryId(theoryId);
+        int deleted = 0;
+        for (int depth = Comment.MAX_DEPTH; depth >= 0; depth--) {
+            deleted += commentRepository.deleteByTheoryIdAndDepth(theoryId, depth);
+        }
+        return deleted;
+    }
+
+    // Every order ends on id, so ties on the sort key still give a total order for keyset cursors
+    private static Sort sortOf(CommentSort sort) {
+        return switch (sort != null ? sort : CommentSort.NEWEST) {
+            case NEWEST -> Sort.by(Sort.Direction.DESC, "postedAt", "id");
+            case OLDEST -> Sort.by(Sort.Direction.ASC, "postedAt", "id");
+            case TOP -> Sort.by(Sort.Direction.DESC, "score", "id");
+            case BEST -> Sort.by(Sort.Direction.DESC, "bestScore", "id");
+        };
+    }
+
+    private static Map<String, Object> replyCursorKeys(Comment reply) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("postedAt", reply.getPostedAt());
+        keys.put("id", reply.getId());
+        return keys;
+    }
+
     private void validateCommentInput(CommentInput input) {
         if (input.getContent() == null || input.getContent().length() < MIN_CONTENT_LENGTH) {
             throw new ValidationException("Comment content must be at least " + MIN_CONTENT_LENGTH + " characters");
@@ -152,14 +361,4 @@ public class CommentService {
             throw new ValidationException("Theory ID is required");
         }
     }
-
-    private int getCommentDepth(Comment comment) {
-        int depth = 0;
-        Comment current = comment;
-        while (current.getParent() != null) {
-            depth++;
-            current = current.getParent();
-        }
-        return depth;
-    }
 }
@@ -0,0 +1,45 @@
+package com.conspiracy.forum.service;
+
+import com.conspiracy.forum.entity.Comment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class CommentTree {
+
+    private final List<Comment> roots;
+    private final Map<Long, List<Comment>> repliesByParentId;
+
+    private CommentTree(List<Comment> roots, Map<Long, List<Comment>> repliesByParentId) {
+        this.roots = roots;
+        this.repliesByParentId = repliesByParentId;
+    }
+
+    /**
+     * Builds the tree from every comment of a single theory. The input order is
+     * kept for siblings, so callers pass comments sorted oldest first.
+     */
+    public static CommentTree of(List<Comment> comments) {
+        List<Comment> roots = new ArrayList<>();
+        Map<Long, List<Comment>> repliesByParentId = new HashMap<>();
+        for (Comment comment : comments) {
+            if (comment.getParent() == null) {
+                roots.add(comment);
+            } else {
+                repliesByParentId.computeIfAbsent(comment.getParent().getId(), id -> new ArrayList<>()).add(comment);
+            }
+        }
+        return new CommentTree(Collections.unmodifiableList(roots), repliesByParentId);
+    }
+
+    public List<Comment> getRoots() {
+        return roots;
+    }
+
+    public List<Comment> getReplies(Long parentId) {
+        return Collections.unmodifiableList(repliesByParentId.getOrDefault(parentId, List.of()));
+    }
+}
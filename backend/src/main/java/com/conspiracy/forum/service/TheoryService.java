@@ -1,26 +1,56 @@
 package com.conspiracy.forum.service;
 
+import com.conspiracy.forum.dto.Connection;
 import com.conspiracy.forum.dto.PageInput;
+import com.conspiracy.forum.dto.TheoryFacets;
+import com.conspiracy.forum.dto.TheoryFetchPlan;
 import com.conspiracy.forum.dto.TheoryFilter;
 import com.conspiracy.forum.dto.TheoryInput;
+import com.conspiracy.forum.dto.TheorySummary;
 import com.conspiracy.forum.entity.Theory;
 import com.conspiracy.forum.entity.User;
 import com.conspiracy.forum.enums.TheoryStatus;
+import com.conspiracy.forum.event.TheoryChangedEvent;
 import com.conspiracy.forum.exception.ResourceNotFoundException;
 import com.conspiracy.forum.exception.UnauthorizedException;
 import com.conspiracy.forum.exception.ValidationException;
+import com.conspiracy.forum.ranking.HotRanking;
+import com.conspiracy.forum.ranking.HotTheoryLeaderboard;
+import com.conspiracy.forum.repository.TheoryFacetRepository;
 import com.conspiracy.forum.repository.TheoryRepository;
+import com.conspiracy.forum.repository.TheorySpecifications;
 import com.conspiracy.forum.repository.UserRepository;
+import com.conspiracy.forum.repository.VoteRepository;
+import com.conspiracy.forum.search.SearchEngine;
+import com.conspiracy.forum.search.TitleSuggester;
+import com.conspiracy.forum.search.TitleTrie;
 import com.conspiracy.forum.util.PaginationUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,35 +58,64 @@ public class TheoryService {
 
     private final TheoryRepository theoryRepository;
     private final UserRepository userRepository;
+    private final VoteRepository voteRepository;
+    private final CommentService commentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SearchEngine searchEngine;
+    private final HotRanking hotRanking;
+    private final HotTheoryLeaderboard hotTheoryLeaderboard;
+    private final TitleSuggester titleSuggester;
 
     private static final int MIN_TITLE_LENGTH = 5;
     private static final int MIN_CONTENT_LENGTH = 20;
     private static final int HOT_THEORY_MIN_COMMENTS = 5;
+    private static final int DEFAULT_SUGGESTIONS = 5;
+    private static final List<Integer> COMMENT_COUNT_FACETS = List.of(1, HOT_THEORY_MIN_COMMENTS, 10, 25);
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "postedAt");
+    private static final Sort HOT_SORT = Sort.by(Sort.Direction.DESC, "hotScore", "id");
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "postedAt", "id");
 
     @Transactional(readOnly = true)
     public Page<Theory> getTheories(TheoryFilter filter, PageInput pageInput) {
-        Pageable pageable = PaginationUtils.createPageable(pageInput);
+        return getTheories(filter, pageInput, TheoryFetchPlan.FULL_ENTITIES);
+    }
 
-        if (filter == null) {
-            return theoryRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<Theory> getTheories(TheoryFilter filter, PageInput pageInput, TheoryFetchPlan fetchPlan) {
+        String keyword = keywordOf(filter);
+        if (keyword != null) {
+            return searchEngine.search(keyword, filter.getStatus(), PaginationUtils.createPageable(pageInput));
         }
 
-        if (Boolean.TRUE.equals(filter.getHotOnly())) {
-            int minComments = filter.getMinCommentCount() != null ? 
-                    filter.getMinCommentCount() : HOT_THEORY_MIN_COMMENTS;
-            return theoryRepository.findHotTheories(minComments, pageable);
-        }
+        List<Specification<Theory>> specifications = specificationsFor(filter);
+        Pageable pageable = PaginationUtils.createPageable(pageInput, isHotOnly(filter) ? HOT_SORT : DEFAULT_SORT);
+        Slice<Theory> slice = findSlice(specifications, pageable, fetchPlan);
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable,
+                () -> theoryRepository.count(Specification.allOf(specifications)));
+    }
 
-        String keyword = filter.getKeyword();
-        if (keyword != null && keyword.trim().isEmpty()) {
-            keyword = null;
+    /**
+     * Same listing as {@link #getTheories(TheoryFilter, PageInput, TheoryFetchPlan)} without the total count.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Theory> getTheorySlice(TheoryFilter filter, PageInput pageInput, TheoryFetchPlan fetchPlan) {
+        String keyword = keywordOf(filter);
+        if (keyword != null) {
+            return searchEngine.search(keyword, filter.getStatus(), PaginationUtils.createPageable(pageInput));
         }
 
-        if (filter.getStatus() == null && keyword == null) {
-            return theoryRepository.findAll(pageable);
-        }
+        Pageable pageable = PaginationUtils.createPageable(pageInput, isHotOnly(filter) ? HOT_SORT : DEFAULT_SORT);
+        return findSlice(specificationsFor(filter), pageable, fetchPlan);
+    }
 
-        return theoryRepository.findByFilters(filter.getStatus(), keyword, pageable);
+    @Transactional(readOnly = true)
+    public Connection<Theory> getTheoriesConnection(TheoryFilter filter, Integer first, String after,
+                                                    TheoryFetchPlan fetchPlan) {
+        if (keywordOf(filter) != null) {
+            throw new ValidationException("Keyword search results are ranked and cannot be paged by cursor");
+        }
+        Sort sort = isHotOnly(filter) ? HOT_SORT : KEYSET_SORT;
+        return findConnection(specificationsFor(filter), sort, first, after, fetchPlan);
     }
 
     @Transactional(readOnly = true)
@@ -65,18 +124,148 @@ public class TheoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Theory not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public Map<Long, List<String>> getEvidenceUrlsByTheoryIds(Collection<Long> theoryIds) {
+        Map<Long, List<String>> urlsByTheory = new HashMap<>();
+        for (TheoryRepository.EvidenceUrl evidenceUrl : theoryRepository.findEvidenceUrlsByTheoryIds(theoryIds)) {
+            urlsByTheory.computeIfAbsent(evidenceUrl.getTheoryId(), id -> new ArrayList<>()).add(evidenceUrl.getUrl());
+        }
+        return urlsByTheory;
+    }
+
     @Transactional(readOnly = true)
     public List<Theory> getTheoriesByUser(Long userId) {
+        return getTheoriesByUser(userId, TheoryFetchPlan.FULL_ENTITIES);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Theory> getTheoriesByUser(Long userId, TheoryFetchPlan fetchPlan) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        Sort sort = Sort.by(Sort.Direction.DESC, "postedAt");
+        if (!fetchPlan.content()) {
+            return theoryRepository.findListing(TheorySpecifications.hasAuthor(userId), sort);
+        }
+        return theoryRepository.findBy(TheorySpecifications.hasAuthor(userId), query -> query
+                .sortBy(sort)
+                .project(fetchPlan.fetchPaths(true))
+                .all());
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Theory> getHotTheories(PageInput pageInput) {
+        return getHotTheories(pageInput, TheoryFetchPlan.FULL_ENTITIES);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Theory> getHotTheories(PageInput pageInput, TheoryFetchPlan fetchPlan) {
+        Pageable pageable = PaginationUtils.createPageable(pageInput, HOT_SORT);
+        return hotTheoryLeaderboard.page(pageable).orElseGet(() -> findSlice(List.of(), pageable, fetchPlan));
+    }
+
+    @Transactional(readOnly = true)
+    public Connection<Theory> getHotTheoriesConnection(Integer first, String after, TheoryFetchPlan fetchPlan) {
+        return findConnection(List.of(), HOT_SORT, first, after, fetchPlan);
+    }
+
+    /**
+     * Card listing read through the summary projection instead of hydrating entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<TheorySummary> getTheorySummaries(TheoryFilter filter, PageInput pageInput, int excerptLength) {
+        String keyword = keywordOf(filter);
+        if (keyword != null) {
+            return searchSummaries(keyword, filter.getStatus(), pageInput, excerptLength);
+        }
+
+        List<Specification<Theory>> specifications = specificationsFor(filter);
+        Pageable pageable = PaginationUtils.createPageable(pageInput, isHotOnly(filter) ? HOT_SORT : DEFAULT_SORT);
+        Slice<TheorySummary> slice = theoryRepository.findSummaries(
+                Specification.allOf(specifications), pageable, excerptLength);
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable,
+                () -> theoryRepository.count(Specification.allOf(specifications)));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<TheorySummary> getTheorySummarySlice(TheoryFilter filter, PageInput pageInput, int excerptLength) {
+        String keyword = keywordOf(filter);
+        if (keyword != null) {
+            return searchSummaries(keyword, filter.getStatus(), pageInput, excerptLength);
+        }
+
+        Pageable pageable = PaginationUtils.createPageable(pageInput, isHotOnly(filter) ? HOT_SORT : DEFAULT_SORT);
+        return theoryRepository.findSummaries(Specification.allOf(specificationsFor(filter)), pageable, excerptLength);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<TheorySummary> getHotTheorySummaries(PageInput pageInput, int excerptLength) {
+        Pageable pageable = PaginationUtils.createPageable(pageInput, HOT_SORT);
+        return hotTheoryLeaderboard.page(pageable)
+                .map(slice -> slice.map(theory -> TheorySummary.of(theory, excerptLength)))
+                .orElseGet(() -> theoryRepository.findSummaries(Specification.allOf(), pageable, excerptLength));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TheorySummary> getTheorySummariesByUser(Long userId, int excerptLength) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
-        return theoryRepository.findByAuthorIdOrderByPostedAtDesc(userId);
+        return theoryRepository.findSummaries(TheorySpecifications.hasAuthor(userId), DEFAULT_SORT, excerptLength);
     }
 
+    /**
+     * Counts for the filter panel from one grouped query. Status counts keep the comment threshold
+     * and comment-count buckets keep the status, matching how the listing combines them.
+     */
     @Transactional(readOnly = true)
-    public Page<Theory> getHotTheories(PageInput pageInput) {
-        Pageable pageable = PaginationUtils.createPageable(pageInput);
-        return theoryRepository.findAllOrderByCommentCountDesc(pageable);
+    public TheoryFacets getTheoryFacets(TheoryFilter filter) {
+        String keyword = keywordOf(filter);
+        List<TheoryFacetRepository.FacetCount> counts = keyword != null ?
+                searchEngine.countFacets(keyword) : theoryRepository.countFacets(Specification.allOf());
+
+        boolean hotOnly = isHotOnly(filter);
+        TheoryStatus status = filter != null && !hotOnly ? filter.getStatus() : null;
+        int minComments = hotOnly ? minCommentCountOf(filter) : 0;
+
+        long total = 0;
+        Map<TheoryStatus, Long> byStatus = new EnumMap<>(TheoryStatus.class);
+        long[] byCommentCount = new long[COMMENT_COUNT_FACETS.size()];
+        for (TheoryFacetRepository.FacetCount count : counts) {
+            boolean statusMatches = status == null || count.status() == status;
+            boolean commentsMatch = count.commentCount() >= minComments;
+            if (commentsMatch) {
+                byStatus.merge(count.status(), count.theories(), Long::sum);
+            }
+            if (statusMatches) {
+                for (int i = 0; i < byCommentCount.length; i++) {
+                    if (count.commentCount() >= COMMENT_COUNT_FACETS.get(i)) {
+                        byCommentCount[i] += count.theories();
+                    }
+                }
+            }
+            if (statusMatches && commentsMatch) {
+                total += count.theories();
+            }
+        }
+
+        List<TheoryFacets.StatusFacet> statuses = new ArrayList<>();
+        for (TheoryStatus value : TheoryStatus.values()) {
+            statuses.add(new TheoryFacets.StatusFacet(value, byStatus.getOrDefault(value, 0L)));
+        }
+        List<TheoryFacets.CommentCountFacet> commentCounts = new ArrayList<>();
+        for (int i = 0; i < byCommentCount.length; i++) {
+            commentCounts.add(new TheoryFacets.CommentCountFacet(COMMENT_COUNT_FACETS.get(i), byCommentCount[i]));
+        }
+        return new TheoryFacets(total, statuses, commentCounts);
+    }
+
+    /**
+     * Titles starting with the given prefix, best score first. Served from memory.
+     */
+    public List<TitleTrie.Suggestion> suggestTheories(String prefix, Integer limit) {
+        int resolvedLimit = limit != null ? Math.max(1, Math.min(limit, TitleTrie.TOP_K)) : DEFAULT_SUGGESTIONS;
+        return titleSuggester.suggest(prefix, resolvedLimit);
     }
 
     @Transactional
@@ -94,8 +283,11 @@ public class TheoryService {
                 .isAnonymousPost(Boolean.TRUE.equals(input.getAnonymousPost()))
                 .author(author)
                 .build();
+        hotRanking.refresh(theory);
 
-        return theoryRepository.save(theory);
+        Theory savedTheory = theoryRepository.save(theory);
+        eventPublisher.publishEvent(new TheoryChangedEvent(savedTheory.getId(), TheoryChangedEvent.Change.CREATED));
+        return savedTheory;
     }
 
     @Transactional
@@ -130,7 +322,9 @@ public class TheoryService {
 
         theory.setUpdatedAt(LocalDateTime.now());
         
-        return theoryRepository.save(theory);
+        Theory savedTheory = theoryRepository.save(theory);
+        eventPublisher.publishEvent(new TheoryChangedEvent(id, TheoryChangedEvent.Change.UPDATED));
+        return savedTheory;
     }
 
     @Transactional
@@ -141,10 +335,90 @@ public class TheoryService {
             throw new UnauthorizedException("You can only delete your own theories");
         }
 
-        theoryRepository.delete(theory);
+        voteRepository.deleteByTheoryId(id);
+        commentService.deleteAllForTheory(id);
+        theoryRepository.bulkDeleteById(id);
+        eventPublisher.publishEvent(new TheoryChangedEvent(id, TheoryChangedEvent.Change.DELETED));
         return true;
     }
 
+    private static String keywordOf(TheoryFilter filter) {
+        if (filter == null || isHotOnly(filter)) {
+            return null;
+        }
+        String keyword = filter.getKeyword();
+        return keyword != null && !keyword.trim().isEmpty() ? keyword.trim() : null;
+    }
+
+    private static boolean isHotOnly(TheoryFilter filter) {
+        return filter != null && Boolean.TRUE.equals(filter.getHotOnly());
+    }
+
+    private static int minCommentCountOf(TheoryFilter filter) {
+        return filter.getMinCommentCount() != null ? filter.getMinCommentCount() : HOT_THEORY_MIN_COMMENTS;
+    }
+
+    private static List<Specification<Theory>> specificationsFor(TheoryFilter filter) {
+        if (filter == null) {
+            return List.of();
+        }
+        if (isHotOnly(filter)) {
+            return List.of(TheorySpecifications.hasMinCommentCount(minCommentCountOf(filter)));
+        }
+        if (filter.getStatus() != null) {
+            return List.of(TheorySpecifications.hasStatus(filter.getStatus()));
+        }
+        return List.of();
+    }
+
+    // Search engines rank entities; the hits are re-read as summaries and put back in rank order.
+    private Page<TheorySummary> searchSummaries(String keyword, TheoryStatus status, PageInput pageInput,
+                                                int excerptLength) {
+        Page<Theory> hits = searchEngine.search(keyword, status, PaginationUtils.createPageable(pageInput));
+        List<Long> ids = hits.map(Theory::getId).getContent();
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), hits.getPageable(), hits.getTotalElements());
+        }
+
+        Map<Long, TheorySummary> summariesById = theoryRepository
+                .findSummaries(TheorySpecifications.hasIdIn(ids), Sort.unsorted(), excerptLength).stream()
+                .collect(Collectors.toMap(TheorySummary::id, Function.identity()));
+        List<TheorySummary> content = ids.stream().map(summariesById::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, hits.getPageable(), hits.getTotalElements());
+    }
+
+    // Fetches one extra row to detect a next page instead of running a COUNT query.
+    private Slice<Theory> findSlice(List<Specification<Theory>> specifications, Pageable pageable,
+                                    TheoryFetchPlan fetchPlan) {
+        if (!fetchPlan.content()) {
+            return theoryRepository.findListing(Specification.allOf(specifications), pageable);
+        }
+        Window<Theory> window = theoryRepository.findBy(withFetchPlan(specifications, fetchPlan), query -> query
+                .sortBy(pageable.getSort())
+                .limit(pageable.getPageSize())
+                .scroll(ScrollPosition.offset(pageable.getOffset())));
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
+
+    private Connection<Theory> findConnection(List<Specification<Theory>> specifications, Sort sort,
+                                              Integer first, String after, TheoryFetchPlan fetchPlan) {
+        ScrollPosition position = PaginationUtils.createScrollPosition(after, sort);
+        if (!fetchPlan.content()) {
+            return PaginationUtils.toConnection(theoryRepository.findListing(Specification.allOf(specifications),
+                    sort, (KeysetScrollPosition) position, PaginationUtils.resolveLimit(first)), !position.isInitial());
+        }
+        Window<Theory> window = theoryRepository.findBy(withFetchPlan(specifications, fetchPlan), query -> query
+                .sortBy(sort)
+                .limit(PaginationUtils.resolveLimit(first))
+                .scroll(position));
+        return PaginationUtils.toConnection(window, !position.isInitial());
+    }
+
+    private static Specification<Theory> withFetchPlan(List<Specification<Theory>> specifications,
+                                                       TheoryFetchPlan fetchPlan) {
+        return Specification.allOf(specifications).and(TheorySpecifications.fetching(fetchPlan.fetchPaths(false)));
+    }
+
     private void validateTheoryInput(TheoryInput input) {
         if (input.getTitle() == null || input.getTitle().length() < MIN_TITLE_LENGTH) {
             throw new ValidationException("Theory title must be at least " + MIN_TITLE_LENGTH + " characters");
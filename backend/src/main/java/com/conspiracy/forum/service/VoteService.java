@@ -4,11 +4,14 @@ import com.conspiracy.forum.entity.Comment;
 import com.conspiracy.forum.entity.Theory;
 import com.conspiracy.forum.entity.User;
 import com.conspiracy.forum.entity.Vote;
+import com.conspiracy.forum.event.TheoryChangedEvent;
+import com.conspiracy.forum.ranking.HotRanking;
 import com.conspiracy.forum.repository.CommentRepository;
 import com.conspiracy.forum.repository.TheoryRepository;
 import com.conspiracy.forum.repository.UserRepository;
 import com.conspiracy.forum.repository.VoteRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +25,8 @@ public class VoteService {
     private final TheoryRepository theoryRepository;
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotRanking hotRanking;
 
     @Transactional
     public Theory voteTheory(User user, Long theoryId, int value) {
@@ -58,7 +63,10 @@ public class VoteService {
             updateUserReputation(theory.getAuthor(), value);
         }
 
-        return theoryRepository.save(theory);
+        hotRanking.refresh(theory);
+        Theory savedTheory = theoryRepository.save(theory);
+        eventPublisher.publishEvent(new TheoryChangedEvent(theoryId, TheoryChangedEvent.Change.VOTED));
+        return savedTheory;
     }
 
     @Transactional
@@ -71,32 +79,32 @@ public class VoteService {
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
 
         Optional<Vote> existingVote = voteRepository.findByUserAndComment(user, comment);
+        int from = existingVote.map(Vote::getValue).orElse(0);
+        int to = from == value ? 0 : value;
 
         if (existingVote.isPresent()) {
             Vote vote = existingVote.get();
-            if (vote.getValue() == value) {
+            if (to == 0) {
                 voteRepository.delete(vote);
-                comment.setScore(comment.getScore() - value);
-                updateUserReputation(comment.getAuthor(), -value);
             } else {
-                int scoreChange = value - vote.getValue();
-                comment.setScore(comment.getScore() + scoreChange);
-                vote.setValue(value);
+                vote.setValue(to);
                 voteRepository.save(vote);
-                updateUserReputation(comment.getAuthor(), scoreChange);
             }
         } else {
-            Vote vote = Vote.builder()
+            voteRepository.save(Vote.builder()
                     .user(user)
                     .comment(comment)
                     .value(value)
-                    .build();
-            voteRepository.save(vote);
-            comment.setScore(comment.getScore() + value);
-            updateUserReputation(comment.getAuthor(), value);
+                    .build());
         }
+        updateUserReputation(comment.getAuthor(), to - from);
 
-        return commentRepository.save(comment);
+        Long theoryId = comment.getTheory().getId();
+        commentRepository.applyVote(commentId, (to == 1 ? 1 : 0) - (from == 1 ? 1 : 0),
+                (to == -1 ? 1 : 0) - (from == -1 ? 1 : 0));
+        eventPublisher.publishEvent(new TheoryChangedEvent(theoryId, TheoryChangedEvent.Change.VOTED));
+        return commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("Comment not found"));
     }
 
     private void updateUserReputation(User user, int change) {
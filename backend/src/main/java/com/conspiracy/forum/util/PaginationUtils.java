@@ -1,9 +1,25 @@
 package com.conspiracy.forum.util;
 
+import com.conspiracy.forum.dto.Connection;
 import com.conspiracy.forum.dto.PageInput;
+import com.conspiracy.forum.exception.ValidationException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public final class PaginationUtils {
 
@@ -11,6 +27,17 @@ public final class PaginationUtils {
     private static final int DEFAULT_SIZE = 10;
     private static final int MAX_SIZE = 100;
 
+    private static final Map<String, Function<String, Object>> CURSOR_KEYS = Map.of(
+            "postedAt", LocalDateTime::parse,
+            "commentCount", Integer::valueOf,
+            "hotScore", Double::valueOf,
+            "score", Integer::valueOf,
+            "bestScore", Double::valueOf,
+            "id", Long::valueOf,
+            "snapshot", value -> value,
+            "offset", Integer::valueOf
+    );
+
     private PaginationUtils() {
     }
 
@@ -20,13 +47,103 @@ public final class PaginationUtils {
 
     public static Pageable createPageable(PageInput pageInput, Sort sort) {
         int page = DEFAULT_PAGE;
-        int size = DEFAULT_SIZE;
 
         if (pageInput != null) {
             page = Math.max(pageInput.getPage() - 1, 0);
-            size = Math.max(1, Math.min(pageInput.getSize(), MAX_SIZE));
         }
 
-        return PageRequest.of(page, size, sort);
+        return PageRequest.of(page, resolvePageSize(pageInput), sort);
+    }
+
+    public static int resolvePageSize(PageInput pageInput) {
+        if (pageInput == null) {
+            return DEFAULT_SIZE;
+        }
+        return resolveLimit(pageInput.getSize());
+    }
+
+    public static int resolveLimit(Integer first) {
+        if (first == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(first, MAX_SIZE));
+    }
+
+    /**
+     * Decodes an opaque cursor into a keyset position for the given sort. A null cursor starts at the top.
+     */
+    public static ScrollPosition createScrollPosition(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        return keysetPosition(decodeCursor(cursor), sort);
+    }
+
+    /**
+     * Builds a keyset position from decoded cursor keys, which must be exactly the properties of the sort.
+     */
+    public static ScrollPosition keysetPosition(Map<String, Object> keys, Sort sort) {
+        Set<String> expected = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        if (!keys.keySet().equals(expected)) {
+            throw new ValidationException("Invalid cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public static Map<String, Object> decodeCursor(String cursor) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String pair : decoded.split(",")) {
+                int separator = pair.indexOf(':');
+                String key = pair.substring(0, separator);
+                Function<String, Object> parser = CURSOR_KEYS.get(key);
+                if (parser == null) {
+                    throw new ValidationException("Invalid cursor");
+                }
+                keys.put(key, parser.apply(pair.substring(separator + 1)));
+            }
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+        return keys;
+    }
+
+    public static String encodeCursor(Map<String, ?> keys) {
+        String raw = keys.entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue())
+                .collect(Collectors.joining(","));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds a first page from rows fetched with one extra row beyond {@code limit}, which only signals
+     * that a next page exists.
+     */
+    public static <T> Connection<T> toConnection(List<T> rows, int limit, Function<T, Map<String, ?>> cursorKeys) {
+        List<T> page = rows.size() > limit ? rows.subList(0, limit) : rows;
+        List<Connection.Edge<T>> edges = page.stream()
+                .map(row -> new Connection.Edge<>(row, encodeCursor(cursorKeys.apply(row))))
+                .toList();
+        return toConnection(edges, rows.size() > limit, false);
+    }
+
+    public static <T> Connection<T> toConnection(Window<T> window, boolean hasPrevious) {
+        List<Connection.Edge<T>> edges = new ArrayList<>(window.size());
+        for (int i = 0; i < window.size(); i++) {
+            KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(i);
+            edges.add(new Connection.Edge<>(window.getContent().get(i), encodeCursor(position.getKeys())));
+        }
+        return toConnection(edges, window.hasNext(), hasPrevious);
+    }
+
+    public static <T> Connection<T> toConnection(List<Connection.Edge<T>> edges, boolean hasNext, boolean hasPrevious) {
+        Connection.PageInfo pageInfo = new Connection.PageInfo(
+                hasNext,
+                hasPrevious,
+                edges.isEmpty() ? null : edges.get(0).cursor(),
+                edges.isEmpty() ? null : edges.get(edges.size() - 1).cursor()
+        );
+        return new Connection<>(edges, pageInfo);
     }
 }
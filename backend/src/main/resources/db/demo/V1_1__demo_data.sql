@@ -0,0 +1,56 @@
+-- Demo content for local development; enabled by adding classpath:db/demo to spring.flyway.locations.
+-- Databases seeded by the old init.sql are baselined at V1 and already hold these rows, so every
+-- statement skips rows that exist.
+
+INSERT INTO users (username, password, email, role, created_at, is_anonymous, secret_code) VALUES
+('admin', '$2a$10$slYQmyNdGzTn7ZLBXBChFOC9f6kFjAqPhccnP6DxlNBxBFveB.qLG', 'admin@conspiracy.com', 'ADMIN', NOW(), false, 'admin_secret'),
+('truther_99', '$2a$10$slYQmyNdGzTn7ZLBXBChFOC9f6kFjAqPhccnP6DxlNBxBFveB.qLG', 'truther@conspiracy.com', 'USER', NOW(), false, NULL),
+('skeptic_dave', '$2a$10$slYQmyNdGzTn7ZLBXBChFOC9f6kFjAqPhccnP6DxlNBxBFveB.qLG', 'dave@skeptic.com', 'USER', NOW(), false, NULL),
+('alien_hunter', '$2a$10$slYQmyNdGzTn7ZLBXBChFOC9f6kFjAqPhccnP6DxlNBxBFveB.qLG', 'fox@mulder.com', 'USER', NOW(), false, 'i_want_to_believe')
+ON CONFLICT DO NOTHING;
+
+
+INSERT INTO theories (title, content, status, posted_at, updated_at, is_anonymous_post, author_id, comment_count)
+SELECT seed.title, seed.content, seed.status, seed.posted_at, seed.updated_at, seed.is_anonymous_post,
+       (SELECT id FROM users WHERE username = seed.author), seed.comment_count
+FROM (VALUES
+
+('The Moon is Hollow', 'Think about it. Why does it ring like a bell when objects hit it? NASA knows the truth!', 'UNVERIFIED', NOW() - INTERVAL '2 days', NOW() - INTERVAL '2 days', false, 'truther_99', 2),
+
+('Birds arent Real', 'They are all surveillance drones created by the government. Have you ever seen a baby pigeon?', 'DEBUNKED', NOW() - INTERVAL '5 days', NOW() - INTERVAL '1 day', false, 'alien_hunter', 1),
+
+('The Pyramids were Power Plants', 'Ancient Egyptians had wireless electricity. The pyramids are just giant tesla coils.', 'CONFIRMED', NOW() - INTERVAL '1 week', NOW() - INTERVAL '1 week', false, 'truther_99', 0),
+
+('Area 52 is the real deal', 'Area 51 is a distraction. The real stuff happens at Area 52.', 'UNVERIFIED', NOW(), NOW(), true, 'alien_hunter', 0)
+
+) AS seed (title, content, status, posted_at, updated_at, is_anonymous_post, author, comment_count)
+WHERE NOT EXISTS (SELECT 1 FROM theories WHERE theories.title = seed.title);
+
+
+INSERT INTO theory_evidence_urls (theory_id, url)
+SELECT (SELECT id FROM theories WHERE title = seed.theory), seed.url
+FROM (VALUES
+('The Moon is Hollow', 'https://example.com/moon-hollow-proof'),
+('The Moon is Hollow', 'https://nasa-leaks.com/moon'),
+('Birds arent Real', 'https://birdsarentreal.com'),
+('The Pyramids were Power Plants', 'https://ancient-power.org')
+) AS seed (theory, url)
+WHERE NOT EXISTS (SELECT 1 FROM theory_evidence_urls existing
+                  JOIN theories ON theories.id = existing.theory_id
+                  WHERE theories.title = seed.theory AND existing.url = seed.url);
+
+
+INSERT INTO comments (content, posted_at, updated_at, is_anonymous_post, author_id, theory_id)
+SELECT seed.content, seed.posted_at, seed.updated_at, seed.is_anonymous_post,
+       (SELECT id FROM users WHERE username = seed.author), (SELECT id FROM theories WHERE title = seed.theory)
+FROM (VALUES
+
+('This explains so much!', NOW() - INTERVAL '1 day', NOW() - INTERVAL '1 day', false, 'alien_hunter', 'The Moon is Hollow'),
+('Complete nonsense. Basic physics disproves this.', NOW() - INTERVAL '12 hours', NOW() - INTERVAL '12 hours', false, 'skeptic_dave', 'The Moon is Hollow'),
+
+('I saw a bird recharging on a power line yesterday.', NOW() - INTERVAL '4 days', NOW() - INTERVAL '4 days', true, 'truther_99', 'Birds arent Real')
+
+) AS seed (content, posted_at, updated_at, is_anonymous_post, author, theory)
+WHERE NOT EXISTS (SELECT 1 FROM comments
+                  JOIN theories ON theories.id = comments.theory_id
+                  WHERE theories.title = seed.theory AND comments.content = seed.content);
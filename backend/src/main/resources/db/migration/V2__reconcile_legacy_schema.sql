@@ -0,0 +1,26 @@
+-- Databases created from the old init.sql and then patched by ddl-auto are baselined at V1.
+-- Bring them to the V1 shape; on a fresh database every statement here is a no-op.
+
+ALTER TABLE theories ADD COLUMN IF NOT EXISTS hot_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+ALTER TABLE theories ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(content, '')), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_theories_search_vector ON theories USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_theories_hot_score ON theories (hot_score DESC, id DESC);
+
+-- init.sql named the vote column "value" while the entity maps "vote_value"
+ALTER TABLE votes ADD COLUMN IF NOT EXISTS vote_value INTEGER;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'votes' AND column_name = 'value') THEN
+        UPDATE votes SET vote_value = value WHERE vote_value IS NULL;
+        ALTER TABLE votes DROP COLUMN value;
+    END IF;
+END $$;
+
+ALTER TABLE votes ALTER COLUMN vote_value SET NOT NULL;
@@ -0,0 +1,17 @@
+-- Comment listings per theory, newest first, and the per-theory latest-N window query
+CREATE INDEX idx_comments_theory_posted ON comments (theory_id, posted_at DESC, id DESC);
+-- Root comments of a theory
+CREATE INDEX idx_comments_theory_roots ON comments (theory_id, posted_at DESC) WHERE parent_id IS NULL;
+-- Replies of a comment, also used by the ON DELETE CASCADE of parent_id
+CREATE INDEX idx_comments_parent_posted ON comments (parent_id, posted_at);
+CREATE INDEX idx_comments_author_posted ON comments (author_id, posted_at DESC);
+
+-- Default theory listing and its keyset cursor
+CREATE INDEX idx_theories_posted ON theories (posted_at DESC, id DESC);
+CREATE INDEX idx_theories_status_posted ON theories (status, posted_at DESC, id DESC);
+CREATE INDEX idx_theories_author_posted ON theories (author_id, posted_at DESC);
+CREATE INDEX idx_theories_comment_count ON theories (comment_count);
+
+-- The unique constraints lead with user_id, so vote lookups by target need their own indexes
+CREATE INDEX idx_votes_comment ON votes (comment_id);
+CREATE INDEX idx_votes_theory ON votes (theory_id);
@@ -0,0 +1,2 @@
+-- Covers the grouped filter panel count, so it can run as an index-only scan
+CREATE INDEX idx_theories_status_comment_count ON theories (status, comment_count);
@@ -0,0 +1,20 @@
+-- Materialized path of each comment: its ancestors' ids and its own, zero-padded to 19 digits and
+-- each followed by '/'. The "C" collation compares bytes, so a subtree is one contiguous index range.
+ALTER TABLE comments ADD COLUMN depth INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN path VARCHAR(255) COLLATE "C";
+
+WITH RECURSIVE tree (id, depth, path) AS (
+    SELECT id, 0, LPAD(id::text, 19, '0') || '/'
+    FROM comments
+    WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, tree.depth + 1, tree.path || LPAD(c.id::text, 19, '0') || '/'
+    FROM comments c
+    JOIN tree ON c.parent_id = tree.id
+)
+UPDATE comments
+SET depth = tree.depth, path = tree.path
+FROM tree
+WHERE comments.id = tree.id;
+
+CREATE UNIQUE INDEX idx_comments_path ON comments (path);
@@ -0,0 +1,10 @@
+ALTER TABLE comments ADD COLUMN reply_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE comments
+SET reply_count = replies.total
+FROM (SELECT parent_id, COUNT(*) AS total FROM comments WHERE parent_id IS NOT NULL GROUP BY parent_id) replies
+WHERE comments.id = replies.parent_id;
+
+-- Reply pages are keyset-paginated oldest first, with id breaking posted_at ties
+DROP INDEX idx_comments_parent_posted;
+CREATE INDEX idx_comments_parent_posted ON comments (parent_id, posted_at, id);
@@ -0,0 +1,32 @@
+-- Vote tallies per comment and the Wilson lower bound (95%) of their up/down split, so every comment
+-- ordering is served by an index instead of a sort
+ALTER TABLE comments ADD COLUMN up_votes INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN down_votes INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN best_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+UPDATE comments
+SET up_votes = tally.up_votes, down_votes = tally.down_votes
+FROM (SELECT comment_id,
+             COUNT(*) FILTER (WHERE vote_value = 1) AS up_votes,
+             COUNT(*) FILTER (WHERE vote_value = -1) AS down_votes
+      FROM votes
+      WHERE comment_id IS NOT NULL
+      GROUP BY comment_id) tally
+WHERE comments.id = tally.comment_id;
+
+UPDATE comments
+SET best_score = (p + 3.8416 / (2 * n) - 1.96 * SQRT((p * (1 - p) + 3.8416 / (4 * n)) / n)) / (1 + 3.8416 / n)
+FROM (SELECT id, up_votes::double precision / (up_votes + down_votes) AS p,
+             (up_votes + down_votes)::double precision AS n
+      FROM comments
+      WHERE up_votes + down_votes > 0) tally
+WHERE comments.id = tally.id;
+
+-- NEWEST and OLDEST read idx_comments_theory_posted forwards and backwards; id breaks ties for cursors
+CREATE INDEX idx_comments_theory_score ON comments (theory_id, score DESC, id DESC);
+CREATE INDEX idx_comments_theory_best ON comments (theory_id, best_score DESC, id DESC);
+
+DROP INDEX idx_comments_theory_roots;
+CREATE INDEX idx_comments_theory_roots ON comments (theory_id, posted_at DESC, id DESC) WHERE parent_id IS NULL;
+CREATE INDEX idx_comments_theory_roots_score ON comments (theory_id, score DESC, id DESC) WHERE parent_id IS NULL;
+CREATE INDEX idx_comments_theory_roots_best ON comments (theory_id, best_score DESC, id DESC) WHERE parent_id IS NULL;
@@ -0,0 +1,12 @@
+-- Position of each URL within Theory.evidenceUrls, so batch loads return URLs in list order.
+-- Existing rows keep the physical order an unsorted collection load used to return.
+ALTER TABLE theory_evidence_urls ADD COLUMN url_order INTEGER;
+
+UPDATE theory_evidence_urls
+SET url_order = numbered.position
+FROM (SELECT ctid, ROW_NUMBER() OVER (PARTITION BY theory_id ORDER BY ctid) - 1 AS position
+      FROM theory_evidence_urls) numbered
+WHERE theory_evidence_urls.ctid = numbered.ctid;
+
+ALTER TABLE theory_evidence_urls ALTER COLUMN url_order SET NOT NULL;
+ALTER TABLE theory_evidence_urls ADD PRIMARY KEY (theory_id, url_order);
@@ -0,0 +1,275 @@
+package com.conspiracy.forum.graphql;
+
+import com.conspiracy.forum.config.TestMailConfig;
+import com.conspiracy.forum.dto.AuthResponse;
+import com.conspiracy.forum.dto.RegisterRequest;
+import com.conspiracy.forum.dto.TheoryInput;
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.entity.User;
+import com.conspiracy.forum.repository.CommentRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import com.conspiracy.forum.repository.UserRepository;
+import com.conspiracy.forum.repository.VoteRepository;
+import com.conspiracy.forum.service.AuthService;
+import com.conspiracy.forum.service.TheoryService;
+import com.conspiracy.forum.service.VoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureHttpGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.graphql.test.tester.HttpGraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "forum.graphql.response-cache.enabled=true")
+@AutoConfigureHttpGraphQlTester
+@ActiveProfiles("test")
+@Import(TestMailConfig.class)
+class AnonymousResponseCacheTest {
+
+    private static final String THEORY_QUERY = """
+            query CachedTheory($id: ID!) {
+                theory(id: $id) {
+                    id
+                    title
+                }
+            }
+            """;
+
+    @Autowired
+    private HttpGraphQlTester graphQlTester;
+
+    @Autowired
+    private AnonymousResponseCache responseCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TheoryRepository theoryRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TheoryService theoryService;
+
+    @Autowired
+    private VoteService voteService;
+
+    private String authToken;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        commentRepository.deleteAll();
+        theoryRepository.deleteAll();
+        userRepository.deleteAll();
+
+        AuthResponse authResponse = authService.register(RegisterRequest.builder()
+                .username("cacheuser")
+                .email("cache@example.com")
+                .password("password123")
+                .build());
+        authToken = authResponse.getToken();
+        testUser = userRepository.findByUsername("cacheuser").orElseThrow();
+    }
+
+    @Test
+    void theory_ShouldBeServedFromCache_ForRepeatedAnonymousReads() {
+        Theory theory = createTheory("Original Cached Title");
+        queryTitle(theory.getId()).isEqualTo("Original Cached Title");
+
+        // Bypass the service so that no change event is published
+        theory.setTitle("Changed Behind The Cache");
+        theoryRepository.save(theory);
+
+        queryTitle(theory.getId()).isEqualTo("Original Cached Title");
+    }
+
+    @Test
+    void theory_ShouldBeEvicted_WhenServiceUpdatesIt() {
+        Theory theory = createTheory("Title Before Update");
+        queryTitle(theory.getId()).isEqualTo("Title Before Update");
+
+        theoryService.updateTheory(theory.getId(),
+                TheoryInput.builder().title("Title After Update").build(), testUser.getUsername());
+
+        queryTitle(theory.getId()).isEqualTo("Title After Update");
+    }
+
+    @Test
+    void theory_ShouldStayCached_WhenAnotherTheoryIsVotedOn() {
+        Theory cachedTheory = createTheory("Theory That Stays Cached");
+        Theory otherTheory = createTheory("Theory Receiving Votes");
+        queryTitle(cachedTheory.getId()).isEqualTo("Theory That Stays Cached");
+        long size = responseCache.size();
+
+        voteService.voteTheory(testUser, otherTheory.getId(), 1);
+
+        assertEquals(size, responseCache.size());
+    }
+
+    @Test
+    void theories_ShouldBeEvicted_WhenTheoryIsCreated() {
+        String query = """
+                query CachedListing {
+                    theories {
+                        title
+                    }
+                }
+                """;
+        createTheory("First Listed Theory");
+        graphQlTester.document(query).execute()
+                .path("theories").entityList(Object.class).hasSize(1);
+
+        createTheory("Second Listed Theory");
+
+        graphQlTester.document(query).execute()
+                .path("theories").entityList(Object.class).hasSize(2);
+    }
+
+    @Test
+    void theorySummaries_ShouldBeEvicted_WhenTheoryIsCreated() {
+        String query = """
+                query CachedSummaryPage {
+                    theorySummaries {
+                        totalElements
+                        content { title }
+                    }
+                }
+                """;
+        createTheory("First Summarized Theory");
+        graphQlTester.document(query).execute()
+                .path("theorySummaries.content").entityList(Object.class).hasSize(1);
+
+        createTheory("Second Summarized Theory");
+
+        graphQlTester.document(query).execute()
+                .path("theorySummaries.totalElements").entity(Integer.class).isEqualTo(2)
+                .path("theorySummaries.content").entityList(Object.class).hasSize(2);
+    }
+
+    @Test
+    void hotTheorySummaries_ShouldBeEvicted_WhenTheoryIsCreated() {
+        String query = """
+                query CachedHotSummaries {
+                    hotTheorySummaries {
+                        title
+                    }
+                }
+                """;
+        createTheory("First Hot Summary");
+        graphQlTester.document(query).execute()
+                .path("hotTheorySummaries").entityList(Object.class).hasSize(1);
+
+        createTheory("Second Hot Summary");
+
+        graphQlTester.document(query).execute()
+                .path("hotTheorySummaries").entityList(Object.class).hasSize(2);
+    }
+
+    @Test
+    void theoryFacets_ShouldBeEvicted_WhenTheoryIsCreated() {
+        String query = """
+                query CachedFacets {
+                    theoryFacets {
+                        total
+                    }
+                }
+                """;
+        createTheory("First Faceted Theory");
+        graphQlTester.document(query).execute()
+                .path("theoryFacets.total").entity(Integer.class).isEqualTo(1);
+
+        createTheory("Second Faceted Theory");
+
+        graphQlTester.document(query).execute()
+                .path("theoryFacets.total").entity(Integer.class).isEqualTo(2);
+    }
+
+    @Test
+    void hotTheories_ShouldBeEvicted_WhenVoteMovesTheoryIntoPage() {
+        String query = """
+                query CachedHotPage {
+                    hotTheories(page: { page: 1, size: 1 }) {
+                        title
+                    }
+                }
+                """;
+        createTheory("First Hot Candidate");
+        createTheory("Second Hot Candidate");
+        String leader = graphQlTester.document(query).execute()
+                .path("hotTheories[0].title").entity(String.class).get();
+        Theory challenger = theoryRepository.findAll().stream()
+                .filter(theory -> !theory.getTitle().equals(leader))
+                .findFirst()
+                .orElseThrow();
+
+        voteService.voteTheory(testUser, challenger.getId(), 1);
+
+        graphQlTester.document(query).execute()
+                .path("hotTheories[0].title").entity(String.class).isEqualTo(challenger.getTitle());
+    }
+
+    @Test
+    void authenticatedRequest_ShouldNotBeCached() {
+        Theory theory = createTheory("Authenticated Read Title");
+        long size = responseCache.size();
+
+        graphQlTester.mutate()
+                .header("Authorization", "Bearer " + authToken)
+                .build()
+                .document(THEORY_QUERY)
+                .variable("id", theory.getId())
+                .execute()
+                .path("theory.title").entity(String.class).isEqualTo("Authenticated Read Title");
+
+        assertEquals(size, responseCache.size());
+    }
+
+    @Test
+    void operation_ShouldNotBeCached_WhenItSelectsOtherRootFields() {
+        Theory theory = createTheory("Mixed Operation Title");
+        long size = responseCache.size();
+
+        graphQlTester.document("""
+                        query MixedOperation($id: ID!, $userId: ID!) {
+                            theory(id: $id) { title }
+                            theoriesByUser(userId: $userId) { id }
+                        }
+                        """)
+                .variable("id", theory.getId())
+                .variable("userId", testUser.getId())
+                .execute()
+                .path("theory.title").entity(String.class).isEqualTo("Mixed Operation Title");
+
+        assertEquals(size, responseCache.size());
+    }
+
+    private Theory createTheory(String title) {
+        return theoryService.createTheory(TheoryInput.builder()
+                .title(title)
+                .content("Content long enough for the response cache tests.")
+                .build(), testUser.getUsername());
+    }
+
+    private GraphQlTester.Entity<String, ?> queryTitle(Long id) {
+        return graphQlTester.document(THEORY_QUERY)
+                .variable("id", id)
+                .execute()
+                .path("theory.title").entity(String.class);
+    }
+}
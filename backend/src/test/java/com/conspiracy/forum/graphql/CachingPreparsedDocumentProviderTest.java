@@ -0,0 +1,89 @@
+package com.conspiracy.forum.graphql;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingPreparsedDocumentProviderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingPreparsedDocumentProvider provider;
+    private AtomicInteger parseCount;
+    private Function<ExecutionInput, PreparsedDocumentEntry> parseFunction;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        provider = new CachingPreparsedDocumentProvider(NoOpPreparsedDocumentProvider.INSTANCE, 10, meterRegistry);
+        parseCount = new AtomicInteger();
+        parseFunction = input -> {
+            parseCount.incrementAndGet();
+            return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+        };
+    }
+
+    @Test
+    void getDocument_ShouldParseOnce_ForDifferentlyFormattedQueries() {
+        PreparsedDocumentEntry first = provider.getDocument(input("{ theories { id title } }"), parseFunction);
+        PreparsedDocumentEntry second = provider.getDocument(input("""
+                # list theories
+                {
+                    theories {
+                        id,
+                        title
+                    }
+                }
+                """), parseFunction);
+
+        assertEquals(1, parseCount.get());
+        assertSame(first, second);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1, meterRegistry.get("graphql.document.parse").timer().count());
+    }
+
+    @Test
+    void getDocument_ShouldNotShareEntries_WhenStringLiteralsDiffer() {
+        provider.getDocument(input("{ theories(filter: {keyword: \"a  b\"}) { id } }"), parseFunction);
+        provider.getDocument(input("{ theories(filter: {keyword: \"a b\"}) { id } }"), parseFunction);
+
+        assertEquals(2, parseCount.get());
+        assertEquals(2, provider.size());
+    }
+
+    @Test
+    void getDocument_ShouldNotCacheEntries_WithErrors() {
+        Function<ExecutionInput, PreparsedDocumentEntry> failing = input -> {
+            parseCount.incrementAndGet();
+            return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("invalid").build());
+        };
+
+        provider.getDocument(input("{ nope }"), failing);
+        provider.getDocument(input("{ nope }"), failing);
+
+        assertEquals(2, parseCount.get());
+        assertEquals(0, provider.size());
+    }
+
+    @Test
+    void normalize_ShouldKeepCommentCharactersInsideStrings() {
+        assertEquals("{ a(b: \"# kept, here\") }",
+                CachingPreparsedDocumentProvider.normalize("{\n  a(b: \"# kept, here\") # dropped\n}"));
+        assertEquals("{ a(b: \"\"\"x \\\"\"\"  y\"\"\") }",
+                CachingPreparsedDocumentProvider.normalize("{ a(b: \"\"\"x \\\"\"\"  y\"\"\") }"));
+    }
+
+    private static ExecutionInput input(String query) {
+        return ExecutionInput.newExecutionInput().query(query).build();
+    }
+}
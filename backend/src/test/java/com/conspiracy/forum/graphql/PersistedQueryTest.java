@@ -0,0 +1,155 @@
+package com.conspiracy.forum.graphql;
+
+import com.conspiracy.forum.config.TestMailConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(TestMailConfig.class)
+class PersistedQueryTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private CaffeinePersistedQueryCache persistedQueryCache;
+
+    @Test
+    void hashOnlyRequest_ShouldReportNotFound_WhenQueryIsUnknown() {
+        String query = "query UnknownHash { theories { id } }";
+
+        post(null, sha256(query))
+                .jsonPath("$.errors[0].message").isEqualTo("PersistedQueryNotFound")
+                .jsonPath("$.data").doesNotExist();
+    }
+
+    @Test
+    void hashOnlyRequest_ShouldExecute_AfterQueryWasRegistered() {
+        String query = "query RegisteredHash { theories { id title } }";
+        String hash = sha256(query);
+
+        post(query, hash)
+                .jsonPath("$.errors").doesNotExist()
+                .jsonPath("$.data.theories").isArray();
+        long cached = persistedQueryCache.size();
+
+        post(null, hash)
+                .jsonPath("$.errors").doesNotExist()
+                .jsonPath("$.data.theories").isArray();
+        assertEquals(cached, persistedQueryCache.size());
+    }
+
+    @Test
+    void request_ShouldBeRejected_WhenHashDoesNotMatchQuery() {
+        post("query MismatchedHash { theories { id } }", sha256("query Other { theories { title } }"))
+                .jsonPath("$.errors[0].message").isEqualTo("PersistedQueryIdInvalid");
+    }
+
+    @Test
+    void invalidQuery_ShouldNotBeCached() {
+        String query = "query InvalidField { theories { doesNotExist } }";
+        String hash = sha256(query);
+
+        post(query, hash).jsonPath("$.errors[0].message").exists();
+
+        post(null, hash).jsonPath("$.errors[0].message").isEqualTo("PersistedQueryNotFound");
+    }
+
+    @Test
+    void plainRequest_ShouldStillExecute_WithoutPersistedQueryExtension() {
+        webTestClient.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", "{ theories { id } }"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.errors").doesNotExist()
+                .jsonPath("$.data.theories").isArray();
+    }
+
+    @Test
+    void filteredRequest_ShouldDeliverBody_ToNonBlockingReaders() throws Exception {
+        byte[] body = "{\"query\":\"{ theories { id } }\"}".getBytes(StandardCharsets.UTF_8);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.setContent(body);
+        MockFilterChain chain = new MockFilterChain();
+        new PersistedQueryRequestFilter("/graphql", new ObjectMapper())
+                .doFilter(request, new MockHttpServletResponse(), chain);
+
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> callbacks = new ArrayList<>();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                callbacks.add("dataAvailable");
+                byte[] buffer = new byte[8];
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(buffer, 0, input.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                callbacks.add("allDataRead");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                callbacks.add("error");
+            }
+        });
+
+        assertEquals(List.of("dataAvailable", "allDataRead"), callbacks);
+        assertArrayEquals(body, read.toByteArray());
+    }
+
+    private WebTestClient.BodyContentSpec post(String query, String hash) {
+        Map<String, Object> body = new HashMap<>();
+        if (query != null) {
+            body.put("query", query);
+        }
+        body.put("extensions", Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)));
+
+        return webTestClient.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody();
+    }
+
+    private static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.conspiracy.forum.graphql;
+
+import com.conspiracy.forum.config.TestMailConfig;
+import graphql.execution.CoercedVariables;
+import graphql.introspection.IntrospectionQuery;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureHttpGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.test.tester.HttpGraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureHttpGraphQlTester
+@ActiveProfiles("test")
+@Import(TestMailConfig.class)
+class QueryCostInstrumentationTest {
+
+    @Autowired
+    private HttpGraphQlTester graphQlTester;
+
+    @Autowired
+    private QueryCostInstrumentation instrumentation;
+
+    @Autowired
+    private GraphQlSource graphQlSource;
+
+    @Test
+    void calculateCost_ShouldMultiplyChildCostByPageSize() {
+        GraphQLSchema schema = graphQlSource.schema();
+        Document document = Parser.parse("""
+            query {
+                theories(page: { page: 1, size: 20 }) {
+                    id
+                    author {
+                        id
+                    }
+                }
+            }
+            """);
+
+        int cost = instrumentation.calculateCost(schema, document, null, CoercedVariables.emptyVariables());
+
+        assertEquals(40, cost);
+    }
+
+    @Test
+    void calculateDepth_ShouldCountNestedSelections() {
+        GraphQLSchema schema = graphQlSource.schema();
+        Document document = Parser.parse("""
+            query {
+                theory(id: "1") {
+                    author {
+                        id
+                    }
+                }
+            }
+            """);
+
+        int depth = instrumentation.calculateDepth(schema, document, null, CoercedVariables.emptyVariables());
+
+        assertEquals(3, depth);
+    }
+
+    @Test
+    void introspectionQuery_ShouldExecute_DespiteItsDepth() {
+        Document document = Parser.parse(IntrospectionQuery.INTROSPECTION_QUERY);
+        assertEquals(0, instrumentation.calculateDepth(graphQlSource.schema(), document, "IntrospectionQuery",
+                CoercedVariables.emptyVariables()));
+
+        graphQlTester.document(IntrospectionQuery.INTROSPECTION_QUERY)
+                .execute()
+                .path("__schema.queryType.name").entity(String.class).isEqualTo("Query");
+    }
+
+    @Test
+    void query_ShouldExecute_WhenWithinBudget() {
+        String query = """
+            query {
+                theories(page: { page: 1, size: 10 }) {
+                    id
+                    title
+                }
+            }
+            """;
+
+        graphQlTester.document(query)
+                .execute()
+                .errors().verify()
+                .path("theories").entityList(Object.class).hasSize(0);
+    }
+
+    @Test
+    void query_ShouldBeRejected_WhenCostExceedsBudget() {
+        String query = """
+            query {
+                theories(page: { page: 1, size: 100 }) {
+                    comments {
+                        theory {
+                            comments {
+                                id
+                            }
+                        }
+                    }
+                }
+            }
+            """;
+
+        graphQlTester.document(query)
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertEquals(1, errors.size());
+                    assertTrue(errors.get(0).getMessage().startsWith("Query cost"));
+                });
+    }
+
+    @Test
+    void query_ShouldBeRejected_WhenDepthExceedsLimit() {
+        String query = """
+            query {
+                comment(id: "1") {
+                    theory {
+                        comments(limit: 1) {
+                            theory {
+                                comments(limit: 1) {
+                                    theory {
+                                        comments(limit: 1) {
+                                            theory {
+                                                comments(limit: 1) {
+                                                    theory {
+                                                        id
+                                                    }
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            """;
+
+        graphQlTester.document(query)
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertEquals(1, errors.size());
+                    assertTrue(errors.get(0).getMessage().startsWith("Query depth"));
+                });
+    }
+}
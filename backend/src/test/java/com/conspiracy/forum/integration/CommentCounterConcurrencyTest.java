@@ -0,0 +1,175 @@
+package com.conspiracy.forum.integration;
+
+import com.conspiracy.forum.config.TestMailConfig;
+import com.conspiracy.forum.dto.CommentInput;
+import com.conspiracy.forum.dto.TheoryInput;
+import com.conspiracy.forum.entity.Comment;
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.entity.User;
+import com.conspiracy.forum.ranking.WilsonScore;
+import com.conspiracy.forum.repository.CommentRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import com.conspiracy.forum.repository.UserRepository;
+import com.conspiracy.forum.repository.VoteRepository;
+import com.conspiracy.forum.service.CommentService;
+import com.conspiracy.forum.service.TheoryService;
+import com.conspiracy.forum.service.VoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Posts comments on one theory from many threads at once while other users vote on it or on a comment.
+ * Each comment and vote commits in its own transaction, so a read-modify-write counter or tally, or a
+ * vote saving a stale copy of the theory, would lose increments here.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestMailConfig.class)
+class CommentCounterConcurrencyTest {
+
+    private static final int COMMENTS = 2000;
+    private static final int THREADS = 16;
+    private static final int VOTERS = 100;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TheoryService theoryService;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TheoryRepository theoryRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User user;
+    private Theory theory;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        commentRepository.deleteAll();
+        theoryRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(User.builder()
+                .username("busyposter")
+                .email("busyposter@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build());
+        theory = theoryService.createTheory(TheoryInput.builder()
+                .title("A very busy theory")
+                .content("Everyone wants to comment on this theory at once.")
+                .build(), user.getUsername());
+    }
+
+    @Test
+    void parallelComments_ShouldAllBeCounted() throws Exception {
+        Comment root = commentService.createComment(CommentInput.builder()
+                .content("Root comment everyone replies to.")
+                .theoryId(theory.getId())
+                .build(), user.getUsername());
+
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            voters.add(userRepository.save(User.builder()
+                    .username("voter" + i)
+                    .email("voter" + i + "@example.com")
+                    .password("not-used")
+                    .build()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < COMMENTS; i++) {
+                if (i % (COMMENTS / VOTERS) == 0) {
+                    User voter = voters.get(i / (COMMENTS / VOTERS));
+                    futures.add(executor.submit(() -> voteService.voteTheory(voter, theory.getId(), 1)));
+                }
+                Long parentId = i % 2 == 0 ? root.getId() : null;
+                String content = "Parallel comment number " + i;
+                futures.add(executor.submit(() -> commentService.createComment(CommentInput.builder()
+                        .content(content)
+                        .theoryId(theory.getId())
+                        .parentId(parentId)
+                        .build(), user.getUsername())));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Theory counted = theoryRepository.findById(theory.getId()).orElseThrow();
+        assertEquals(COMMENTS + 1, counted.getCommentCount());
+        assertEquals(COMMENTS + 1, commentRepository.countByTheoryId(theory.getId()));
+        assertEquals(COMMENTS / 2, commentRepository.findById(root.getId()).orElseThrow().getReplyCount());
+        assertTrue(counted.getHotScore() > 0);
+    }
+
+    @Test
+    void parallelCommentVotes_ShouldAllBeTallied() throws Exception {
+        Comment comment = commentService.createComment(CommentInput.builder()
+                .content("Comment everyone votes on at once.")
+                .theoryId(theory.getId())
+                .build(), user.getUsername());
+
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            voters.add(userRepository.save(User.builder()
+                    .username("commentvoter" + i)
+                    .email("commentvoter" + i + "@example.com")
+                    .password("not-used")
+                    .build()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < VOTERS; i++) {
+                User voter = voters.get(i);
+                int value = i % 4 == 0 ? -1 : 1;
+                futures.add(executor.submit(() -> voteService.voteComment(voter, comment.getId(), value)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Comment tallied = commentRepository.findById(comment.getId()).orElseThrow();
+        assertEquals(VOTERS * 3 / 4, tallied.getUpVotes());
+        assertEquals(VOTERS / 4, tallied.getDownVotes());
+        assertEquals(VOTERS / 2, tallied.getScore());
+        assertEquals(WilsonScore.lowerBound(VOTERS * 3 / 4, VOTERS / 4), tallied.getBestScore(), 1e-9);
+    }
+}
@@ -0,0 +1,116 @@
+package com.conspiracy.forum.integration;
+
+import com.conspiracy.forum.config.TestMailConfig;
+import com.conspiracy.forum.dto.RegisterRequest;
+import com.conspiracy.forum.repository.CommentRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import com.conspiracy.forum.repository.UserRepository;
+import com.conspiracy.forum.repository.VoteRepository;
+import com.conspiracy.forum.service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureHttpGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.HttpGraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends many login mutations over HTTP at once. Login hashes with BCrypt inside a Callable data
+ * fetcher on the application task executor (virtual threads on Java 21, a platform pool otherwise),
+ * so every request must still get its own answer, and a failed login its own error type, whichever
+ * thread ran it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureHttpGraphQlTester
+@ActiveProfiles("test")
+@Import(TestMailConfig.class)
+class ConcurrentLoginTest {
+
+    private static final int USERS = 16;
+    private static final int THREADS = 16;
+
+    private static final String LOGIN = """
+            mutation Login($username: String!, $password: String!) {
+                login(input: { username: $username, password: $password }) {
+                    username
+                    token
+                }
+            }
+            """;
+
+    @Autowired
+    private HttpGraphQlTester graphQlTester;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TheoryRepository theoryRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        commentRepository.deleteAll();
+        theoryRepository.deleteAll();
+        userRepository.deleteAll();
+
+        for (int i = 0; i < USERS; i++) {
+            authService.register(RegisterRequest.builder()
+                    .username("parallel" + i)
+                    .email("parallel" + i + "@example.com")
+                    .password("password123")
+                    .build());
+        }
+    }
+
+    @Test
+    void parallelLogins_ShouldEachGetTheirOwnResult() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                String username = "parallel" + i;
+                futures.add(executor.submit(() -> graphQlTester.document(LOGIN)
+                        .variable("username", username)
+                        .variable("password", "password123")
+                        .execute()
+                        .path("login.username").entity(String.class).isEqualTo(username)
+                        .path("login.token").entity(String.class).satisfies(token -> assertFalse(token.isEmpty()))));
+                futures.add(executor.submit(() -> graphQlTester.document(LOGIN)
+                        .variable("username", username)
+                        .variable("password", "wrongpassword")
+                        .execute()
+                        .errors()
+                        .satisfy(errors -> {
+                            assertEquals(1, errors.size());
+                            assertEquals(ErrorType.UNAUTHORIZED, errors.get(0).getErrorType());
+                        })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.conspiracy.forum.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations with the docker-compose demo data on the compose PostgreSQL version,
+ * both on an empty database and on one created by the pre-Flyway init.sql.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final List<String> DEMO_USERS = List.of("admin", "alien_hunter", "skeptic_dave", "truther_99");
+
+    @Test
+    void migrate_ShouldCreateSchemaAndDemoData_OnEmptyDatabase() {
+        DataSource dataSource = createDatabase("fresh");
+
+        MigrateResult result = migrate(dataSource);
+
+        assertTrue(result.success);
+        assertDemoData(new JdbcTemplate(dataSource));
+    }
+
+    @Test
+    void migrate_ShouldUpgradeDatabase_SeededByLegacyInitSql() {
+        DataSource dataSource = createDatabase("legacy");
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/init.sql")).execute(dataSource);
+
+        MigrateResult result = migrate(dataSource);
+
+        assertTrue(result.success);
+        assertDemoData(new JdbcTemplate(dataSource));
+        assertEquals(0, migrate(dataSource).migrationsExecuted);
+    }
+
+    private static MigrateResult migrate(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/demo")
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+    }
+
+    private static void assertDemoData(JdbcTemplate jdbcTemplate) {
+        assertEquals(DEMO_USERS, jdbcTemplate.queryForList(
+                "SELECT username FROM users ORDER BY username", String.class));
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM theories", Integer.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments", Integer.class));
+        assertEquals(List.of(0, 1), jdbcTemplate.queryForList("""
+                SELECT url_order FROM theory_evidence_urls
+                WHERE theory_id = (SELECT id FROM theories WHERE title = 'The Moon is Hollow')
+                ORDER BY url_order
+                """, Integer.class));
+    }
+
+    private static DataSource createDatabase(String name) {
+        new JdbcTemplate(new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword())).execute("CREATE DATABASE " + name);
+        String url = POSTGRES.getJdbcUrl().replace("/" + POSTGRES.getDatabaseName(), "/" + name);
+        return new DriverManagerDataSource(url, POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
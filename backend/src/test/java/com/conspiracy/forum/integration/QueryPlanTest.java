@@ -0,0 +1,328 @@
+package com.conspiracy.forum.integration;
+
+import com.conspiracy.forum.config.TestMailConfig;
+import com.conspiracy.forum.dto.PageInput;
+import com.conspiracy.forum.dto.TheoryFetchPlan;
+import com.conspiracy.forum.dto.TheoryFilter;
+import com.conspiracy.forum.entity.Comment;
+import com.conspiracy.forum.enums.CommentSort;
+import com.conspiracy.forum.enums.TheoryStatus;
+import com.conspiracy.forum.repository.CommentRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import com.conspiracy.forum.repository.VoteRepository;
+import com.conspiracy.forum.service.CommentService;
+import com.conspiracy.forum.service.TheoryService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every TheoryRepository and CommentRepository query against the Flyway schema on PostgreSQL
+ * filled with synthetic rows, and fails if the plan of any statement sequentially scans a table.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "forum.search.engine=postgres",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.conspiracy.forum.integration.QueryPlanTest$CapturingInspector"
+})
+@ActiveProfiles("test")
+@Import(TestMailConfig.class)
+class QueryPlanTest {
+
+    // EXPLAIN (GENERIC_PLAN) needs PostgreSQL 16
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Set<String> TABLES = Set.of("users", "theories", "theory_evidence_urls", "comments", "votes");
+    private static final Pattern PAGING_PARAMETER = Pattern.compile(
+            "(?i)(offset \\? rows|fetch first \\? rows only|limit \\?|offset \\?)");
+    private static boolean seeded;
+
+    @Autowired
+    private TheoryRepository theoryRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private TheoryService theoryService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        // EXPLAIN of a statement with $n placeholders only works over the simple query protocol
+        registry.add("spring.datasource.url", () -> withSimpleQueryMode(POSTGRES.getJdbcUrl()));
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    private static String withSimpleQueryMode(String url) {
+        return url + (url.contains("?") ? "&" : "?") + "preferQueryMode=simple";
+    }
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.execute("""
+                INSERT INTO users (username, password, email, role)
+                SELECT 'user' || g, 'secret', 'user' || g || '@example.com', 'USER'
+                FROM generate_series(1, 5000) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO theories (title, content, status, posted_at, author_id, comment_count, score, hot_score)
+                SELECT 'Theory ' || g, 'Synthetic content about topic ' || (g % 1000),
+                       (ARRAY['UNVERIFIED', 'DEBUNKED', 'CONFIRMED'])[1 + g % 3],
+                       NOW() - g * INTERVAL '1 minute', 1 + g % 5000, g % 40, g % 100, random()
+                FROM generate_series(1, 50000) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO theory_evidence_urls (theory_id, url)
+                SELECT 1 + g % 50000, 'https://example.com/evidence/' || g FROM generate_series(1, 50000) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO comments (content, posted_at, author_id, theory_id)
+                SELECT 'Comment ' || g, NOW() - g * INTERVAL '1 second', 1 + g % 5000, 1 + g % 50000
+                FROM generate_series(1, 200000) g
+                """);
+        jdbcTemplate.execute("UPDATE comments SET parent_id = id - 50000 WHERE id > 50000 AND id % 2 = 0");
+        jdbcTemplate.execute("""
+                WITH RECURSIVE tree (id, depth, path) AS (
+                    SELECT id, 0, LPAD(id::text, 19, '0') || '/' FROM comments WHERE parent_id IS NULL
+                    UNION ALL
+                    SELECT c.id, tree.depth + 1, tree.path || LPAD(c.id::text, 19, '0') || '/'
+                    FROM comments c JOIN tree ON c.parent_id = tree.id
+                )
+                UPDATE comments SET depth = tree.depth, path = tree.path FROM tree WHERE comments.id = tree.id
+                """);
+        jdbcTemplate.execute("""
+                UPDATE comments SET reply_count = replies.total
+                FROM (SELECT parent_id, COUNT(*) AS total FROM comments GROUP BY parent_id) replies
+                WHERE comments.id = replies.parent_id
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO votes (user_id, comment_id, vote_value)
+                SELECT 1 + g % 5000, g, 1 FROM generate_series(1, 100000) g
+                """);
+        jdbcTemplate.execute("""
+                UPDATE comments SET score = 1, up_votes = 1, best_score = 0.2065
+                WHERE id IN (SELECT comment_id FROM votes)
+                """);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+        seeded = true;
+    }
+
+    @Test
+    void repositoryQueries_ShouldNotSequentiallyScanLargeTables() {
+        Pageable newestFirst = PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "postedAt"));
+        TheoryFilter confirmed = TheoryFilter.builder().status(TheoryStatus.CONFIRMED).build();
+        TheoryFilter hotOnly = TheoryFilter.builder().hotOnly(true).minCommentCount(30).build();
+        PageInput page = PageInput.builder().page(3).size(20).build();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("theories.findByAuthorId", () -> theoryRepository.findByAuthorId(42L, newestFirst));
+        queries.put("theories.findByStatus", () -> theoryRepository.findByStatus(TheoryStatus.DEBUNKED, newestFirst));
+        queries.put("theories.searchByKeyword", () -> theoryRepository.searchByKeyword("topic", null, PageRequest.of(2, 20)));
+        queries.put("theories.findEvidenceUrlsByTheoryIds",
+                () -> theoryRepository.findEvidenceUrlsByTheoryIds(List.of(1L, 2L, 3L)));
+        queries.put("theories.findTextsAfter", () -> theoryRepository.findTextsAfter(1000L, PageRequest.ofSize(1000)));
+        queries.put("theories.findTextById", () -> theoryRepository.findTextById(5L));
+        queries.put("theories.findTitlesAfter", () -> theoryRepository.findTitlesAfter(1000L, PageRequest.ofSize(1000)));
+        queries.put("theories.findTitleById", () -> theoryRepository.findTitleById(5L));
+        queries.put("theories.findHotInputsAfter", () -> theoryRepository.findHotInputsAfter(
+                LocalDateTime.now().minusDays(7), 0L, PageRequest.ofSize(500)));
+        queries.put("theories.findByOrderByHotScoreDescIdDesc",
+                () -> theoryRepository.findByOrderByHotScoreDescIdDesc(Limit.of(501)));
+        queries.put("theories.updateHotScore", () -> transactionTemplate.executeWithoutResult(
+                status -> theoryRepository.updateHotScore(5L, 5, 5, 1.0)));
+        queries.put("theories.findHotInputsById", () -> theoryRepository.findHotInputsById(5L));
+        queries.put("theories.addToCommentCount", () -> transactionTemplate.executeWithoutResult(
+                status -> theoryRepository.addToCommentCount(5L, 0)));
+        queries.put("theories.listing", () -> theoryService.getTheorySlice(null, page, TheoryFetchPlan.FULL_ENTITIES));
+        queries.put("theories.listingByStatus", () -> theoryService.getTheories(confirmed, page, TheoryFetchPlan.FULL_ENTITIES));
+        queries.put("theories.listingHotOnly", () -> theoryService.getTheories(hotOnly, page, TheoryFetchPlan.FULL_ENTITIES));
+        queries.put("theories.hot", () -> theoryService.getHotTheories(page, new TheoryFetchPlan(true, false, true)));
+        queries.put("theories.connection", () -> theoryService.getTheoriesConnection(null, 20, null, TheoryFetchPlan.FULL_ENTITIES));
+        queries.put("theories.byUser", () -> theoryService.getTheoriesByUser(42L, new TheoryFetchPlan(true, true, true)));
+        queries.put("theories.summaries", () -> theoryService.getTheorySummaries(confirmed, page, 200));
+        queries.put("theories.hotSummaries", () -> theoryService.getHotTheorySummaries(page, 200));
+        queries.put("theories.summariesByUser", () -> theoryService.getTheorySummariesByUser(42L, 200));
+        queries.put("theories.facets", () -> theoryService.getTheoryFacets(null));
+        queries.put("theories.facetsByKeyword",
+                () -> theoryService.getTheoryFacets(TheoryFilter.builder().keyword("topic").build()));
+        for (CommentSort sort : CommentSort.values()) {
+            queries.put("comments.byTheory." + sort, () -> commentService.getCommentsByTheory(7L, sort));
+            queries.put("comments.rootsByTheory." + sort, () -> commentService.getRootCommentsByTheory(7L, sort));
+            queries.put("comments.byTheoryPage." + sort,
+                    () -> commentService.getCommentsByTheoryPaginated(7L, page, sort));
+            queries.put("comments.byTheoryConnection." + sort, () -> {
+                String after = commentService.getCommentsByTheoryConnection(7L, 1, null, sort).pageInfo().endCursor();
+                commentService.getCommentsByTheoryConnection(7L, 20, after, sort);
+            });
+        }
+        queries.put("comments.findByParentIdOrderByPostedAtAsc",
+                () -> commentRepository.findByParentIdOrderByPostedAtAsc(8L));
+        queries.put("comments.findByTheoryIdInOrderByPostedAtAscIdAsc",
+                () -> commentRepository.findByTheoryIdInOrderByPostedAtAscIdAsc(List.of(1L, 2L, 3L)));
+        queries.put("comments.findByTheoryIdInOrderByPostedAtDescIdDesc",
+                () -> commentRepository.findByTheoryIdInOrderByPostedAtDescIdDesc(List.of(1L, 2L, 3L)));
+        queries.put("comments.findLatestByTheoryIds",
+                () -> commentRepository.findLatestByTheoryIds(List.of(1L, 2L, 3L), 3));
+        queries.put("comments.findFirstRepliesByParentIds",
+                () -> commentRepository.findFirstRepliesByParentIds(List.of(2L, 4L, 6L), 11));
+        queries.put("comments.findByParentIdOrderByPostedAtAscIdAsc",
+                () -> commentRepository.findByParentIdOrderByPostedAtAscIdAsc(8L, ScrollPosition.keyset(), Limit.of(20)));
+        queries.put("comments.findByTheoryId", () -> commentRepository.findByTheoryId(7L, newestFirst));
+        queries.put("comments.findByTheoryIdAndParentIsNull",
+                () -> commentRepository.findByTheoryIdAndParentIsNull(7L, PageRequest.of(0, 1, Sort.by("postedAt"))));
+        queries.put("comments.findByAuthorId",
+                () -> commentRepository.findByAuthorId(3L, PageRequest.of(0, 1, Sort.by("postedAt"))));
+        queries.put("comments.countByTheoryId", () -> commentRepository.countByTheoryId(7L));
+        queries.put("comments.addToReplyCount", () -> transactionTemplate.executeWithoutResult(
+                status -> commentRepository.addToReplyCount(8L, 0)));
+        queries.put("comments.deleteByTheoryIdAndDepth", () -> transactionTemplate.executeWithoutResult(status -> {
+            commentRepository.deleteByTheoryIdAndDepth(7L, 3);
+            status.setRollbackOnly();
+        }));
+        queries.put("comments.deleteSubtreeAtDepth", () -> transactionTemplate.executeWithoutResult(status -> {
+            commentRepository.deleteSubtreeAtDepth(
+                    "0000000000000000002/", Comment.subtreeUpperBound("0000000000000000002/"), 3);
+            status.setRollbackOnly();
+        }));
+        queries.put("votes.deleteByTheoryId", () -> transactionTemplate.executeWithoutResult(status -> {
+            voteRepository.deleteByTheoryId(7L);
+            status.setRollbackOnly();
+        }));
+        queries.put("votes.deleteByCommentTheoryId", () -> transactionTemplate.executeWithoutResult(status -> {
+            voteRepository.deleteByCommentTheoryId(7L);
+            status.setRollbackOnly();
+        }));
+        queries.put("votes.deleteByCommentSubtree", () -> transactionTemplate.executeWithoutResult(status -> {
+            voteRepository.deleteByCommentSubtree(2L,
+                    "0000000000000000002/", Comment.subtreeUpperBound("0000000000000000002/"));
+            status.setRollbackOnly();
+        }));
+        queries.put("comments.findSubtree", () -> commentRepository.findSubtree(
+                "0000000000000000002/", Comment.subtreeUpperBound("0000000000000000002/")));
+
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            CapturingInspector.STATEMENTS.clear();
+            query.run();
+            assertFalse(CapturingInspector.STATEMENTS.isEmpty(), name + " ran no SQL");
+            for (String sql : CapturingInspector.STATEMENTS) {
+                List<String> scanned = sequentialScans(explain(sql));
+                if (!scanned.isEmpty()) {
+                    failures.add(name + " scans " + scanned + ": " + sql);
+                }
+            }
+        });
+
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    private JsonNode explain(String sql) {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + toGenericSql(sql), String.class);
+        try {
+            return objectMapper.readTree(plan).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan for " + sql, e);
+        }
+    }
+
+    // Paging values are inlined so the planner costs a realistic LIMIT; other parameters stay generic
+    private static String toGenericSql(String sql) {
+        Matcher paging = PAGING_PARAMETER.matcher(sql);
+        StringBuilder inlined = new StringBuilder();
+        while (paging.find()) {
+            String value = paging.group().toLowerCase().startsWith("offset") ? "40" : "20";
+            paging.appendReplacement(inlined, paging.group().replace("?", value));
+        }
+        paging.appendTail(inlined);
+
+        StringBuilder generic = new StringBuilder();
+        int parameter = 0;
+        for (char c : inlined.toString().toCharArray()) {
+            if (c == '?') {
+                generic.append('$').append(++parameter);
+            } else {
+                generic.append(c);
+            }
+        }
+        return generic.toString();
+    }
+
+    private static List<String> sequentialScans(JsonNode node) {
+        List<String> scanned = new ArrayList<>();
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && TABLES.contains(node.path("Relation Name").asText())) {
+            scanned.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            scanned.addAll(sequentialScans(child));
+        }
+        return scanned;
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
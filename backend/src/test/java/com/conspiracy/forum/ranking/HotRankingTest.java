@@ -0,0 +1,159 @@
+package com.conspiracy.forum.ranking;
+
+import com.conspiracy.forum.config.TestMailConfig;
+import com.conspiracy.forum.dto.TheoryInput;
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.entity.User;
+import com.conspiracy.forum.repository.CommentRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import com.conspiracy.forum.repository.UserRepository;
+import com.conspiracy.forum.repository.VoteRepository;
+import com.conspiracy.forum.service.TheoryService;
+import com.conspiracy.forum.service.VoteService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(TestMailConfig.class)
+class HotRankingTest {
+
+    @Autowired
+    private HotRanking hotRanking;
+
+    @Autowired
+    private TheoryService theoryService;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TheoryRepository theoryRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        commentRepository.deleteAll();
+        theoryRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = userRepository.save(User.builder()
+                .username("ranker")
+                .email("ranker@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build());
+    }
+
+    @Test
+    void hotScore_ShouldDecayWithAge() {
+        LocalDateTime now = LocalDateTime.now();
+
+        double fresh = hotRanking.hotScore(10, 2, now.minusHours(1), now);
+        double stale = hotRanking.hotScore(10, 2, now.minusDays(2), now);
+        double busierButOld = hotRanking.hotScore(50, 10, now.minusDays(3), now);
+
+        assertTrue(fresh > stale);
+        assertTrue(fresh > busierButOld);
+        assertTrue(hotRanking.hotScore(0, 5, now, now) > hotRanking.hotScore(0, 0, now, now));
+    }
+
+    @Test
+    void voteTheory_ShouldUpdateHotScore() {
+        Theory theory = createTheory("Vote Ranked Theory");
+        double initial = theory.getHotScore();
+
+        Theory voted = voteService.voteTheory(otherUser(), theory.getId(), 1);
+
+        assertTrue(initial > 0);
+        assertTrue(voted.getHotScore() > initial);
+    }
+
+    @Test
+    void decayBatch_ShouldRecomputeAgedTheories() {
+        Theory theory = createTheory("Aging Ranked Theory");
+        double initial = theory.getHotScore();
+        theory.setPostedAt(LocalDateTime.now().minusDays(1));
+        theoryRepository.saveAndFlush(theory);
+
+        LocalDateTime now = LocalDateTime.now();
+        Long lastId = hotRanking.decayBatch(now.minusDays(7), 0L, now);
+        entityManager.clear();
+
+        assertEquals(theory.getId(), lastId);
+        assertNull(hotRanking.decayBatch(now.minusDays(7), lastId, now));
+        assertTrue(theoryRepository.findById(theory.getId()).orElseThrow().getHotScore() < initial);
+    }
+
+    @Test
+    void decayStaleBatch_ShouldRecomputeTheoriesOlderThanTheWindow() {
+        Theory recent = createTheory("Recent Ranked Theory");
+        Theory old = createTheory("Old Ranked Theory");
+        double initial = old.getHotScore();
+        old.setPostedAt(LocalDateTime.now().minusDays(30));
+        theoryRepository.saveAndFlush(old);
+
+        LocalDateTime now = LocalDateTime.now();
+        Long lastId = hotRanking.decayStaleBatch(now.minusDays(7), 0L, now);
+        entityManager.clear();
+
+        assertEquals(old.getId(), lastId);
+        assertNull(hotRanking.decayStaleBatch(now.minusDays(7), lastId, now));
+        assertTrue(theoryRepository.findById(old.getId()).orElseThrow().getHotScore() < initial);
+        assertEquals(recent.getHotScore(), theoryRepository.findById(recent.getId()).orElseThrow().getHotScore());
+    }
+
+    @Test
+    void updateHotScore_ShouldSkipRowsWhoseInputsChanged() {
+        Theory theory = createTheory("Racing Ranked Theory");
+        entityManager.flush();
+
+        int updated = theoryRepository.updateHotScore(theory.getId(), theory.getScore() + 1,
+                theory.getCommentCount(), 42.0);
+
+        assertEquals(0, updated);
+    }
+
+    private Theory createTheory(String title) {
+        return theoryService.createTheory(TheoryInput.builder()
+                .title(title)
+                .content("Content that is long enough to be a theory.")
+                .build(), testUser.getUsername());
+    }
+
+    private User otherUser() {
+        return userRepository.save(User.builder()
+                .username("voter")
+                .email("voter@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build());
+    }
+}
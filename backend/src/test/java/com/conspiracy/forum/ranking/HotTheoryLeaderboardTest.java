@@ -0,0 +1,166 @@
+package com.conspiracy.forum.ranking;
+
+import com.conspiracy.forum.config.TestMailConfig;
+import com.conspiracy.forum.dto.PageInput;
+import com.conspiracy.forum.dto.TheoryInput;
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.entity.User;
+import com.conspiracy.forum.repository.CommentRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import com.conspiracy.forum.repository.UserRepository;
+import com.conspiracy.forum.repository.VoteRepository;
+import com.conspiracy.forum.service.TheoryService;
+import com.conspiracy.forum.service.VoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "forum.hot-ranking.leaderboard-enabled=true",
+        "forum.hot-ranking.leaderboard-size=3"
+})
+@ActiveProfiles("test")
+@Import(TestMailConfig.class)
+class HotTheoryLeaderboardTest {
+
+    @Autowired
+    private HotTheoryLeaderboard leaderboard;
+
+    @Autowired
+    private TheoryService theoryService;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TheoryRepository theoryRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User author;
+    private User voter;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        commentRepository.deleteAll();
+        theoryRepository.deleteAll();
+        userRepository.deleteAll();
+        leaderboard.rebuild();
+
+        author = userRepository.save(User.builder()
+                .username("leader")
+                .email("leader@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build());
+        voter = userRepository.save(User.builder()
+                .username("booster")
+                .email("booster@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build());
+    }
+
+    @Test
+    void getHotTheories_ShouldServeTopPagesFromMemory() {
+        List<Theory> created = createTheories(2);
+        voteService.voteTheory(voter, created.get(0).getId(), 1);
+
+        // Rows removed behind the leaderboard's back are still served, proving no query was run
+        voteRepository.deleteAllInBatch();
+        theoryRepository.deleteAllInBatch();
+        List<Long> ids = theoryService.getHotTheories(PageInput.builder().page(1).size(2).build())
+                .map(Theory::getId).getContent();
+
+        assertEquals(List.of(created.get(0).getId(), created.get(1).getId()), ids);
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void getHotTheories_ShouldFallBackToDatabase_BeyondLeaderboardSize() {
+        List<Theory> created = createTheories(5);
+
+        Slice<Theory> firstPage = theoryService.getHotTheories(PageInput.builder().page(1).size(2).build());
+        Slice<Theory> secondPage = theoryService.getHotTheories(PageInput.builder().page(2).size(2).build());
+        Slice<Theory> thirdPage = theoryService.getHotTheories(PageInput.builder().page(3).size(2).build());
+
+        assertEquals(3, leaderboard.size());
+        assertTrue(firstPage.hasNext());
+        assertTrue(secondPage.hasNext());
+        assertFalse(thirdPage.hasNext());
+        List<Long> seen = new ArrayList<>();
+        List.of(firstPage, secondPage, thirdPage).forEach(page -> page.forEach(theory -> seen.add(theory.getId())));
+        assertEquals(created.stream().map(Theory::getId).sorted(Comparator.reverseOrder()).toList(), seen);
+    }
+
+    @Test
+    void onTheoryChanged_ShouldPromoteVotedAndDropDeletedTheories() {
+        List<Theory> created = createTheories(5);
+        Theory oldest = created.get(0);
+        assertFalse(leaderboardIds().contains(oldest.getId()));
+
+        voteService.voteTheory(voter, oldest.getId(), 1);
+        assertEquals(oldest.getId(), leaderboardIds().get(0));
+
+        Theory newest = created.get(4);
+        theoryService.deleteTheory(newest.getId(), author.getUsername());
+        assertEquals(List.of(oldest.getId(), created.get(3).getId()), leaderboardIds());
+        // The slot the deleted theory left is refilled from the database
+        assertEquals(3, leaderboard.size());
+        assertEquals(List.of(created.get(2).getId()), leaderboard.page(PageRequest.of(2, 1))
+                .map(slice -> slice.map(Theory::getId).getContent())
+                .orElseThrow());
+    }
+
+    @Test
+    void onTheoryChanged_ShouldBackfill_WhenATheoryFallsOffAFullBoard() {
+        List<Theory> created = createTheories(5);
+        Theory newest = created.get(4);
+
+        voteService.voteTheory(voter, newest.getId(), -1);
+
+        assertEquals(3, leaderboard.size());
+        assertEquals(List.of(created.get(3).getId(), created.get(2).getId(), created.get(1).getId()),
+                leaderboard.page(PageRequest.of(0, 3))
+                        .map(slice -> slice.map(Theory::getId).getContent())
+                        .orElseThrow());
+    }
+
+    private List<Long> leaderboardIds() {
+        return leaderboard.page(PageRequest.of(0, 2))
+                .map(slice -> slice.map(Theory::getId).getContent())
+                .orElseThrow();
+    }
+
+    private List<Theory> createTheories(int count) {
+        List<Theory> theories = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            theories.add(theoryService.createTheory(TheoryInput.builder()
+                    .title("Leaderboard Theory " + i)
+                    .content("Content for leaderboard theory number " + i + ".")
+                    .build(), author.getUsername()));
+        }
+        return theories;
+    }
+}
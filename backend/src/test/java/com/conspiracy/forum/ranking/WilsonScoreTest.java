@@ -0,0 +1,28 @@
+package com.conspiracy.forum.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WilsonScoreTest {
+
+    @Test
+    void lowerBound_ShouldBeZeroWithoutVotes() {
+        assertEquals(0, WilsonScore.lowerBound(0, 0));
+        assertEquals(0, WilsonScore.lowerBound(0, 5), 1e-9);
+    }
+
+    @Test
+    void lowerBound_ShouldMatchKnownValues() {
+        assertEquals(0.2065, WilsonScore.lowerBound(1, 0), 1e-4);
+        assertEquals(0.4385, WilsonScore.lowerBound(3, 0), 1e-4);
+        assertEquals(0.3907, WilsonScore.lowerBound(8, 4), 1e-4);
+    }
+
+    @Test
+    void lowerBound_ShouldPreferConfidenceOverNetScore() {
+        assertTrue(WilsonScore.lowerBound(3, 0) > WilsonScore.lowerBound(8, 4));
+        assertTrue(WilsonScore.lowerBound(100, 10) > WilsonScore.lowerBound(10, 1));
+        assertTrue(WilsonScore.lowerBound(10, 1) > WilsonScore.lowerBound(40, 30));
+    }
+}
@@ -1,6 +1,7 @@
 package com.conspiracy.forum.resolver;
 
 import com.conspiracy.forum.config.TestMailConfig;
+import com.conspiracy.forum.dto.LoginRequest;
 import com.conspiracy.forum.dto.RegisterRequest;
 import com.conspiracy.forum.entity.User;
 import com.conspiracy.forum.repository.CommentRepository;
@@ -223,4 +224,54 @@ class AuthResolverTest {
                     assertTrue(errors.get(0).getMessage().contains("Invalid secret code"));
                 });
     }
+
+    @Test
+    void changePassword_ShouldUseAuthenticatedUser_WhenRunOnTaskExecutor() {
+        String token = authService.register(RegisterRequest.builder()
+                .username("changeuser")
+                .email("change@example.com")
+                .password("password123")
+                .build()).getToken();
+
+        String mutation = """
+            mutation {
+                changePassword(input: {
+                    currentPassword: "password123"
+                    newPassword: "newpassword456"
+                })
+            }
+            """;
+
+        graphQlTester.mutate()
+                .header("Authorization", "Bearer " + token)
+                .build()
+                .document(mutation)
+                .execute()
+                .path("changePassword").entity(Boolean.class).isEqualTo(true);
+
+        assertNotNull(authService.login(LoginRequest.builder()
+                .username("changeuser")
+                .password("newpassword456")
+                .build()).getToken());
+    }
+
+    @Test
+    void changePassword_ShouldReturnError_WhenNotAuthenticated() {
+        String mutation = """
+            mutation {
+                changePassword(input: {
+                    currentPassword: "password123"
+                    newPassword: "newpassword456"
+                })
+            }
+            """;
+
+        graphQlTester.document(mutation)
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertFalse(errors.isEmpty());
+                    assertTrue(errors.get(0).getMessage().contains("logged in"));
+                });
+    }
 }
@@ -21,9 +21,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureHttpGraphQlTester;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.graphql.test.tester.GraphQlTester;
 import org.springframework.graphql.test.tester.HttpGraphQlTester;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -334,4 +338,172 @@ class CommentResolverTest {
                 .path("createComment.content").entity(String.class).isEqualTo("This is a reply to the root comment.")
                 .path("createComment.parent.id").entity(String.class).isEqualTo(rootComment.getId().toString());
     }
+
+    @Test
+    void rootCommentsByTheory_ShouldResolveNestedReplies() {
+        Comment rootComment = commentService.createComment(CommentInput.builder()
+                .content("This is a root comment content.")
+                .theoryId(testTheory.getId())
+                .build(), testUser.getUsername());
+        Comment reply = commentService.createComment(CommentInput.builder()
+                .content("This is a first level reply.")
+                .theoryId(testTheory.getId())
+                .parentId(rootComment.getId())
+                .build(), testUser.getUsername());
+        commentService.createComment(CommentInput.builder()
+                .content("This is a second level reply.")
+                .theoryId(testTheory.getId())
+                .parentId(reply.getId())
+                .build(), testUser.getUsername());
+
+        String query = """
+            query($theoryId: ID!) {
+                rootCommentsByTheory(theoryId: $theoryId) {
+                    id
+                    replies {
+                        content
+                        replies {
+                            content
+                            replies {
+                                id
+                            }
+                        }
+                    }
+                }
+            }
+            """;
+
+        graphQlTester.document(query)
+                .variable("theoryId", testTheory.getId())
+                .execute()
+                .path("rootCommentsByTheory").entityList(Object.class).hasSize(1)
+                .path("rootCommentsByTheory[0].replies").entityList(Object.class).hasSize(1)
+                .path("rootCommentsByTheory[0].replies[0].content").entity(String.class).isEqualTo("This is a first level reply.")
+                .path("rootCommentsByTheory[0].replies[0].replies[0].content").entity(String.class).isEqualTo("This is a second level reply.")
+                .path("rootCommentsByTheory[0].replies[0].replies[0].replies").entityList(Object.class).hasSize(0);
+    }
+
+    @Test
+    void commentsByTheoryConnection_ShouldPageNewestFirst() {
+        List<String> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Comment comment = commentService.createComment(CommentInput.builder()
+                    .content("Cursor paged comment " + i)
+                    .theoryId(testTheory.getId())
+                    .build(), testUser.getUsername());
+            expectedIds.add(0, comment.getId().toString());
+        }
+
+        String query = """
+            query Comments($theoryId: ID!, $after: String) {
+                commentsByTheoryConnection(theoryId: $theoryId, first: 2, after: $after) {
+                    edges {
+                        node {
+                            id
+                        }
+                    }
+                    pageInfo {
+                        hasNextPage
+                        endCursor
+                    }
+                }
+            }
+            """;
+
+        List<String> seenIds = new ArrayList<>();
+        String after = null;
+        boolean hasNextPage = true;
+        while (hasNextPage) {
+            GraphQlTester.Response response = graphQlTester.document(query)
+                    .variable("theoryId", testTheory.getId())
+                    .variable("after", after)
+                    .execute();
+            seenIds.addAll(response.path("commentsByTheoryConnection.edges[*].node.id").entityList(String.class).get());
+            hasNextPage = response.path("commentsByTheoryConnection.pageInfo.hasNextPage").entity(Boolean.class).get();
+            after = response.path("commentsByTheoryConnection.pageInfo.endCursor").entity(String.class).get();
+        }
+
+        assertEquals(expectedIds, seenIds);
+    }
+
+    @Test
+    void repliesConnection_ShouldPageRepliesPerParent() {
+        Comment busyRoot = commentService.createComment(CommentInput.builder()
+                .content("Root comment with many replies.")
+                .theoryId(testTheory.getId())
+                .build(), testUser.getUsername());
+        List<String> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Comment reply = commentService.createComment(CommentInput.builder()
+                    .content("Paged reply number " + i)
+                    .theoryId(testTheory.getId())
+                    .parentId(busyRoot.getId())
+                    .build(), testUser.getUsername());
+            expectedIds.add(reply.getId().toString());
+        }
+        Comment quietRoot = commentService.createComment(CommentInput.builder()
+                .content("Root comment without replies.")
+                .theoryId(testTheory.getId())
+                .build(), testUser.getUsername());
+
+        String firstPages = """
+            query($theoryId: ID!) {
+                rootCommentsByTheory(theoryId: $theoryId) {
+                    id
+                    replyCount
+                    repliesConnection(first: 2) {
+                        edges {
+                            node {
+                                id
+                            }
+                        }
+                        pageInfo {
+                            hasNextPage
+                            endCursor
+                        }
+                    }
+                }
+            }
+            """;
+
+        GraphQlTester.Response response = graphQlTester.document(firstPages)
+                .variable("theoryId", testTheory.getId())
+                .execute();
+        response.path("rootCommentsByTheory[0].id").entity(String.class).isEqualTo(quietRoot.getId().toString())
+                .path("rootCommentsByTheory[0].replyCount").entity(Integer.class).isEqualTo(0)
+                .path("rootCommentsByTheory[0].repliesConnection.edges").entityList(Object.class).hasSize(0)
+                .path("rootCommentsByTheory[1].replyCount").entity(Integer.class).isEqualTo(3)
+                .path("rootCommentsByTheory[1].repliesConnection.edges[*].node.id").entityList(String.class)
+                .containsExactly(expectedIds.get(0), expectedIds.get(1))
+                .path("rootCommentsByTheory[1].repliesConnection.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true);
+        String after = response.path("rootCommentsByTheory[1].repliesConnection.pageInfo.endCursor")
+                .entity(String.class).get();
+
+        String nextPage = """
+            query($id: ID!, $after: String) {
+                comment(id: $id) {
+                    repliesConnection(first: 2, after: $after) {
+                        edges {
+                            node {
+                                id
+                            }
+                        }
+                        pageInfo {
+                            hasNextPage
+                            hasPreviousPage
+                        }
+                    }
+                }
+            }
+            """;
+
+        graphQlTester.document(nextPage)
+                .variable("id", busyRoot.getId())
+                .variable("after", after)
+                .execute()
+                .path("comment.repliesConnection.edges[*].node.id").entityList(String.class)
+                .containsExactly(expectedIds.get(2))
+                .path("comment.repliesConnection.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(false)
+                .path("comment.repliesConnection.pageInfo.hasPreviousPage").entity(Boolean.class).isEqualTo(true);
+    }
 }
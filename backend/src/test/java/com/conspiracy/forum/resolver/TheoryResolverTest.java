@@ -2,6 +2,7 @@ package com.conspiracy.forum.resolver;
 
 import com.conspiracy.forum.config.TestMailConfig;
 import com.conspiracy.forum.dto.AuthResponse;
+import com.conspiracy.forum.dto.CommentInput;
 import com.conspiracy.forum.dto.RegisterRequest;
 import com.conspiracy.forum.dto.TheoryInput;
 import com.conspiracy.forum.entity.Theory;
@@ -11,6 +12,7 @@ import com.conspiracy.forum.repository.TheoryRepository;
 import com.conspiracy.forum.repository.UserRepository;
 import com.conspiracy.forum.repository.VoteRepository;
 import com.conspiracy.forum.service.AuthService;
+import com.conspiracy.forum.service.CommentService;
 import com.conspiracy.forum.service.TheoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,9 +20,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureHttpGraphQlTester;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.graphql.test.tester.GraphQlTester;
 import org.springframework.graphql.test.tester.HttpGraphQlTester;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -53,6 +59,9 @@ class TheoryResolverTest {
     @Autowired
     private TheoryService theoryService;
 
+    @Autowired
+    private CommentService commentService;
+
     private String authToken;
     private User testUser;
 
@@ -300,6 +309,153 @@ class TheoryResolverTest {
                 .path("theoriesPaginated.hasPrevious").entity(Boolean.class).isEqualTo(false);
     }
 
+    @Test
+    void theoriesPaginated_ShouldReturnPageFlags_WhenTotalsNotSelected() {
+        for (int i = 0; i < 5; i++) {
+            theoryService.createTheory(TheoryInput.builder()
+                    .title("Theory " + i)
+                    .content("Content for theory " + i + " with enough characters.")
+                    .build(), testUser.getUsername());
+        }
+
+        String query = """
+            query {
+                theoriesPaginated(page: { page: 2, size: 2 }) {
+                    content {
+                        id
+                    }
+                    currentPage
+                    hasNext
+                    hasPrevious
+                }
+            }
+            """;
+
+        graphQlTester.document(query)
+                .execute()
+                .path("theoriesPaginated.content").entityList(Object.class).hasSize(2)
+                .path("theoriesPaginated.currentPage").entity(Integer.class).isEqualTo(2)
+                .path("theoriesPaginated.hasNext").entity(Boolean.class).isEqualTo(true)
+                .path("theoriesPaginated.hasPrevious").entity(Boolean.class).isEqualTo(true);
+    }
+
+    @Test
+    void theoriesConnection_ShouldPageThroughAllTheoriesWithoutGaps() {
+        List<String> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Theory theory = theoryService.createTheory(TheoryInput.builder()
+                    .title("Cursor Theory " + i)
+                    .content("Content for cursor theory " + i + " with enough characters.")
+                    .build(), testUser.getUsername());
+            expectedIds.add(0, theory.getId().toString());
+        }
+
+        String query = """
+            query Theories($after: String) {
+                theoriesConnection(first: 3, after: $after) {
+                    edges {
+                        cursor
+                        node {
+                            id
+                            authorName
+                        }
+                    }
+                    pageInfo {
+                        hasNextPage
+                        hasPreviousPage
+                        endCursor
+                    }
+                }
+            }
+            """;
+
+        List<String> seenIds = new ArrayList<>();
+        String after = null;
+        boolean hasNextPage = true;
+        int pages = 0;
+        while (hasNextPage) {
+            GraphQlTester.Response response = graphQlTester.document(query)
+                    .variable("after", after)
+                    .execute();
+            seenIds.addAll(response.path("theoriesConnection.edges[*].node.id").entityList(String.class).get());
+            response.path("theoriesConnection.edges[*].node.authorName").entityList(String.class)
+                    .satisfies(names -> assertTrue(names.stream().allMatch("theoryuser"::equals)));
+            response.path("theoriesConnection.pageInfo.hasPreviousPage").entity(Boolean.class).isEqualTo(after != null);
+            hasNextPage = response.path("theoriesConnection.pageInfo.hasNextPage").entity(Boolean.class).get();
+            after = response.path("theoriesConnection.pageInfo.endCursor").entity(String.class).get();
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(expectedIds, seenIds);
+    }
+
+    @Test
+    void hotTheoriesConnection_ShouldOrderByHotScore() {
+        Theory quiet = theoryService.createTheory(TheoryInput.builder()
+                .title("Quiet Cursor Theory")
+                .content("This theory has no discussion at all.")
+                .build(), testUser.getUsername());
+        Theory busy = theoryService.createTheory(TheoryInput.builder()
+                .title("Busy Cursor Theory")
+                .content("This theory has plenty of discussion.")
+                .build(), testUser.getUsername());
+        for (int i = 0; i < 2; i++) {
+            commentService.createComment(CommentInput.builder()
+                    .content("Discussion comment number " + i)
+                    .theoryId(busy.getId())
+                    .build(), testUser.getUsername());
+        }
+
+        String query = """
+            query Hot($after: String) {
+                hotTheoriesConnection(first: 1, after: $after) {
+                    edges {
+                        node {
+                            id
+                        }
+                    }
+                    pageInfo {
+                        hasNextPage
+                        endCursor
+                    }
+                }
+            }
+            """;
+
+        GraphQlTester.Response firstPage = graphQlTester.document(query).execute();
+        firstPage.path("hotTheoriesConnection.edges[0].node.id").entity(String.class).isEqualTo(busy.getId().toString())
+                .path("hotTheoriesConnection.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true);
+        String cursor = firstPage.path("hotTheoriesConnection.pageInfo.endCursor").entity(String.class).get();
+
+        graphQlTester.document(query)
+                .variable("after", cursor)
+                .execute()
+                .path("hotTheoriesConnection.edges[0].node.id").entity(String.class).isEqualTo(quiet.getId().toString())
+                .path("hotTheoriesConnection.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(false);
+    }
+
+    @Test
+    void theoriesConnection_ShouldRejectInvalidCursor() {
+        String query = """
+            query {
+                theoriesConnection(first: 3, after: "not-a-cursor") {
+                    edges {
+                        cursor
+                    }
+                }
+            }
+            """;
+
+        graphQlTester.document(query)
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertFalse(errors.isEmpty());
+                    assertTrue(errors.get(0).getMessage().contains("Invalid cursor"));
+                });
+    }
+
     @Test
     void theories_WithFilter_ShouldFilterByKeyword() {
         TheoryInput input1 = TheoryInput.builder()
@@ -328,4 +484,291 @@ class TheoryResolverTest {
                 .path("theories").entityList(Object.class).hasSize(1)
                 .path("theories[0].title").entity(String.class).isEqualTo("Aliens from Space");
     }
+
+    @Test
+    void theories_ShouldResolveAuthorsForEveryRow() {
+        RegisterRequest otherRequest = RegisterRequest.builder()
+                .username("otheruser")
+                .email("other@example.com")
+                .password("password123")
+                .build();
+        authService.register(otherRequest);
+
+        theoryService.createTheory(TheoryInput.builder()
+                .title("First Author Theory")
+                .content("Content written by the first author here.")
+                .build(), testUser.getUsername());
+        theoryService.createTheory(TheoryInput.builder()
+                .title("Second Author Theory")
+                .content("Content written by the second author here.")
+                .build(), "otheruser");
+        theoryService.createTheory(TheoryInput.builder()
+                .title("Hidden Author Theory")
+                .content("Content written by an anonymous author.")
+                .anonymousPost(true)
+                .build(), "otheruser");
+
+        String query = """
+            query {
+                theories(page: { page: 1, size: 10 }) {
+                    title
+                    authorName
+                    author {
+                        username
+                    }
+                }
+            }
+            """;
+
+        List<Map<String, Object>> theories = graphQlTester.document(query)
+                .execute()
+                .path("theories").entityList(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .hasSize(3)
+                .get();
+
+        Map<String, String> authorsByTitle = new HashMap<>();
+        theories.forEach(t -> authorsByTitle.put((String) t.get("title"), (String) t.get("authorName")));
+        assertEquals("theoryuser", authorsByTitle.get("First Author Theory"));
+        assertEquals("otheruser", authorsByTitle.get("Second Author Theory"));
+        assertEquals("Anonymous Truth Seeker", authorsByTitle.get("Hidden Author Theory"));
+        assertTrue(theories.stream()
+                .filter(t -> "Hidden Author Theory".equals(t.get("title")))
+                .allMatch(t -> t.get("author") == null));
+    }
+
+    @Test
+    void theories_ShouldLimitCommentsPerTheory() {
+        Theory first = theoryService.createTheory(TheoryInput.builder()
+                .title("Heavily Discussed Theory")
+                .content("This theory attracts a lot of comments.")
+                .build(), testUser.getUsername());
+        Theory second = theoryService.createTheory(TheoryInput.builder()
+                .title("Quiet Theory Title")
+                .content("This theory only has a single comment.")
+                .build(), testUser.getUsername());
+        for (int i = 0; i < 5; i++) {
+            commentService.createComment(CommentInput.builder()
+                    .content("Discussion comment number " + i)
+                    .theoryId(first.getId())
+                    .build(), testUser.getUsername());
+        }
+        commentService.createComment(CommentInput.builder()
+                .content("The only comment posted here.")
+                .theoryId(second.getId())
+                .build(), testUser.getUsername());
+
+        String query = """
+            query {
+                theories(page: { page: 1, size: 10 }) {
+                    id
+                    commentCount
+                    comments(limit: 3) {
+                        content
+                    }
+                }
+            }
+            """;
+
+        List<Map<String, Object>> theories = graphQlTester.document(query)
+                .execute()
+                .path("theories").entityList(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .hasSize(2)
+                .get();
+
+        for (Map<String, Object> theory : theories) {
+            List<?> comments = (List<?>) theory.get("comments");
+            if (first.getId().toString().equals(theory.get("id"))) {
+                assertEquals(5, theory.get("commentCount"));
+                assertEquals(3, comments.size());
+            } else {
+                assertEquals(1, comments.size());
+            }
+        }
+    }
+
+    @Test
+    void theories_ShouldReturnEvidenceUrlsForEveryTheory() {
+        theoryService.createTheory(TheoryInput.builder()
+                .title("Theory With Evidence")
+                .content("This theory comes with evidence links.")
+                .evidenceUrls(List.of("https://example.com/proof"))
+                .build(), testUser.getUsername());
+        theoryService.createTheory(TheoryInput.builder()
+                .title("Theory Without Evidence")
+                .content("This theory has no evidence links at all.")
+                .build(), testUser.getUsername());
+
+        String query = """
+            query {
+                theories(filter: { keyword: "evidence" }) {
+                    title
+                    evidenceUrls
+                }
+            }
+            """;
+
+        List<Map<String, Object>> theories = graphQlTester.document(query)
+                .execute()
+                .path("theories").entityList(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .hasSize(2)
+                .get();
+
+        for (Map<String, Object> theory : theories) {
+            List<?> urls = (List<?>) theory.get("evidenceUrls");
+            if ("Theory With Evidence".equals(theory.get("title"))) {
+                assertEquals(List.of("https://example.com/proof"), urls);
+            } else {
+                assertTrue(urls.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void theorySummaries_ShouldReturnExcerptsCutInTheQuery() {
+        String content = "The moon landing footage was filmed in a studio with very particular lighting.";
+        theoryService.createTheory(TheoryInput.builder()
+                .title("Studio Moon Landing")
+                .content(content)
+                .evidenceUrls(List.of("https://example.com/a", "https://example.com/b"))
+                .build(), testUser.getUsername());
+        theoryService.createTheory(TheoryInput.builder()
+                .title("Anonymous Theory")
+                .content("Short but long enough content.")
+                .anonymousPost(true)
+                .build(), testUser.getUsername());
+
+        String query = """
+            query {
+                theorySummaries(filter: { status: UNVERIFIED }, page: { page: 1, size: 10 }) {
+                    content {
+                        title
+                        excerpt(length: 20)
+                        full: excerpt(length: 1000)
+                        evidenceCount
+                        authorName
+                    }
+                    totalElements
+                }
+            }
+            """;
+
+        List<Map<String, Object>> summaries = graphQlTester.document(query)
+                .execute()
+                .path("theorySummaries.totalElements").entity(Integer.class).isEqualTo(2)
+                .path("theorySummaries.content").entityList(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .hasSize(2)
+                .get();
+
+        Map<String, Object> anonymous = summaries.get(0);
+        assertEquals("Anonymous Theory", anonymous.get("title"));
+        assertEquals("Anonymous Truth Seeker", anonymous.get("authorName"));
+        assertEquals(0, anonymous.get("evidenceCount"));
+
+        Map<String, Object> moon = summaries.get(1);
+        assertEquals("The moon landing foo…", moon.get("excerpt"));
+        assertEquals(content, moon.get("full"));
+        assertEquals(2, moon.get("evidenceCount"));
+        assertEquals("theoryuser", moon.get("authorName"));
+    }
+
+    @Test
+    void hotTheorySummaries_ShouldOrderByHotScore() {
+        Theory quiet = theoryService.createTheory(TheoryInput.builder()
+                .title("Quiet Theory")
+                .content("Nobody is talking about this one yet.")
+                .build(), testUser.getUsername());
+        Theory busy = theoryService.createTheory(TheoryInput.builder()
+                .title("Busy Theory")
+                .content("Everyone keeps talking about this one.")
+                .build(), testUser.getUsername());
+        for (int i = 0; i < 3; i++) {
+            commentService.createComment(CommentInput.builder()
+                    .theoryId(busy.getId())
+                    .content("Discussion comment number " + i)
+                    .build(), testUser.getUsername());
+        }
+
+        String query = """
+            query {
+                hotTheorySummaries(page: { page: 1, size: 10 }) {
+                    id
+                    commentCount
+                }
+            }
+            """;
+
+        graphQlTester.document(query)
+                .execute()
+                .path("hotTheorySummaries[*].id").entityList(String.class)
+                .containsExactly(busy.getId().toString(), quiet.getId().toString())
+                .path("hotTheorySummaries[0].commentCount").entity(Integer.class).isEqualTo(3);
+    }
+
+    @Test
+    void theorySummariesByUser_ShouldReturnNewestFirst() {
+        Theory older = theoryService.createTheory(TheoryInput.builder()
+                .title("Older Theory")
+                .content("This theory was posted first.")
+                .build(), testUser.getUsername());
+        Theory newer = theoryService.createTheory(TheoryInput.builder()
+                .title("Newer Theory")
+                .content("This theory was posted second.")
+                .build(), testUser.getUsername());
+
+        String query = """
+            query($userId: ID!) {
+                theorySummariesByUser(userId: $userId) {
+                    id
+                    excerpt
+                }
+            }
+            """;
+
+        graphQlTester.document(query)
+                .variable("userId", testUser.getId())
+                .execute()
+                .path("theorySummariesByUser[*].id").entityList(String.class)
+                .containsExactly(newer.getId().toString(), older.getId().toString())
+                .path("theorySummariesByUser[1].excerpt").entity(String.class)
+                .isEqualTo("This theory was posted first.");
+    }
+
+    @Test
+    void suggestTheories_ShouldFollowTitleWritesAndVotes() {
+        Theory first = theoryService.createTheory(TheoryInput.builder()
+                .title("Zeppelin sightings over Oslo")
+                .content("Large silent airships seen at dusk.")
+                .build(), testUser.getUsername());
+        Theory second = theoryService.createTheory(TheoryInput.builder()
+                .title("Zeppelins never stopped flying")
+                .content("The industry went underground in 1937.")
+                .build(), testUser.getUsername());
+        authenticatedTester().document("mutation($id: ID!) { voteTheory(id: $id, value: 1) { id } }")
+                .variable("id", first.getId())
+                .execute();
+
+        String query = """
+            query($prefix: String!) {
+                suggestTheories(prefix: $prefix, limit: 5) {
+                    id
+                    title
+                    score
+                }
+            }
+            """;
+
+        graphQlTester.document(query)
+                .variable("prefix", "zepp")
+                .execute()
+                .path("suggestTheories[*].id").entityList(String.class)
+                .containsExactly(first.getId().toString(), second.getId().toString())
+                .path("suggestTheories[0].score").entity(Integer.class).isEqualTo(1);
+
+        theoryService.deleteTheory(second.getId(), testUser.getUsername());
+
+        graphQlTester.document(query)
+                .variable("prefix", "Zeppelins")
+                .execute()
+                .path("suggestTheories").entityList(Object.class).hasSize(0);
+    }
 }
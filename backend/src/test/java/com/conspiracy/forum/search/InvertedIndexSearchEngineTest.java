@@ -0,0 +1,182 @@
+package com.conspiracy.forum.search;
+
+import com.conspiracy.forum.config.TestMailConfig;
+import com.conspiracy.forum.dto.PageInput;
+import com.conspiracy.forum.dto.TheoryFilter;
+import com.conspiracy.forum.dto.TheoryInput;
+import com.conspiracy.forum.entity.Theory;
+import com.conspiracy.forum.entity.User;
+import com.conspiracy.forum.enums.TheoryStatus;
+import com.conspiracy.forum.event.TheoryChangedEvent;
+import com.conspiracy.forum.repository.CommentRepository;
+import com.conspiracy.forum.repository.TheoryFacetRepository;
+import com.conspiracy.forum.repository.TheoryRepository;
+import com.conspiracy.forum.repository.UserRepository;
+import com.conspiracy.forum.repository.VoteRepository;
+import com.conspiracy.forum.service.TheoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "forum.search.engine=memory")
+@ActiveProfiles("test")
+@Import(TestMailConfig.class)
+class InvertedIndexSearchEngineTest {
+
+    @Autowired
+    private TheoryService theoryService;
+
+    @Autowired
+    private InvertedIndexSearchEngine searchEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TheoryRepository theoryRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        commentRepository.deleteAll();
+        theoryRepository.deleteAll();
+        userRepository.deleteAll();
+        searchEngine.rebuild();
+
+        testUser = userRepository.save(User.builder()
+                .username("indexer")
+                .email("indexer@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build());
+    }
+
+    @Test
+    void getTheories_ShouldFindCreatedTheory_ThroughIndex() {
+        createTheory("Reptilians in Parliament", "Watch their eyes during speeches.", TheoryStatus.UNVERIFIED);
+        createTheory("Flat Earth Society", "The horizon always looks flat.", TheoryStatus.DEBUNKED);
+
+        Page<Theory> result = search("reptilians", null);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Reptilians in Parliament", result.getContent().get(0).getTitle());
+    }
+
+    @Test
+    void getTheories_ShouldReflectUpdatesAndDeletes() {
+        Theory theory = createTheory("Mind Control Towers", "Cell towers broadcast thoughts.", TheoryStatus.UNVERIFIED);
+
+        theoryService.updateTheory(theory.getId(), TheoryInput.builder()
+                .title("Weather Control Towers")
+                .status(TheoryStatus.CONFIRMED)
+                .build(), testUser.getUsername());
+
+        assertEquals(0, search("mind", null).getTotalElements());
+        assertEquals(1, search("weather", TheoryStatus.CONFIRMED).getTotalElements());
+
+        theoryService.deleteTheory(theory.getId(), testUser.getUsername());
+
+        assertEquals(0, search("weather", null).getTotalElements());
+    }
+
+    @Test
+    void rebuild_ShouldIndexTheoriesSavedOutsideTheService() {
+        theoryRepository.saveAll(List.of(
+                Theory.builder().title("Moon Base Alpha").content("There is a base on the dark side.")
+                        .author(testUser).build(),
+                Theory.builder().title("Mars Base Beta").content("Another base, this time on Mars.")
+                        .author(testUser).build()));
+        assertEquals(0, search("base", null).getTotalElements());
+
+        searchEngine.rebuild();
+
+        assertEquals(2, search("base", null).getTotalElements());
+        assertEquals(2, searchEngine.getIndex().size());
+    }
+
+    @Test
+    void countFacets_ShouldMergeCounts_AcrossIdBatches() {
+        int matching = InvertedIndexSearchEngine.FACET_BATCH_SIZE + 5;
+        List<Theory> theories = new ArrayList<>();
+        for (int i = 0; i < matching; i++) {
+            theories.add(Theory.builder().title("Lizard sighting " + i).content("Seen near the reservoir.")
+                    .status(i % 2 == 0 ? TheoryStatus.CONFIRMED : TheoryStatus.UNVERIFIED)
+                    .author(testUser).build());
+        }
+        theoryRepository.saveAll(theories);
+        searchEngine.rebuild();
+
+        List<TheoryFacetRepository.FacetCount> counts = searchEngine.countFacets("lizard");
+
+        assertEquals(List.of(
+                new TheoryFacetRepository.FacetCount(TheoryStatus.UNVERIFIED, 0, matching / 2),
+                new TheoryFacetRepository.FacetCount(TheoryStatus.CONFIRMED, 0, matching - matching / 2)
+        ), counts);
+    }
+
+    @Test
+    void rebuild_ShouldKeepChanges_PublishedWhileBatchesAreRead() {
+        Theory theory = createTheory("Reptilian council", "They meet in secret.", TheoryStatus.UNVERIFIED);
+        AtomicReference<InvertedIndexSearchEngine> engine = new AtomicReference<>();
+        AtomicBoolean renamed = new AtomicBoolean();
+        // Renames the theory and publishes the change once the first batch has been read
+        TheoryRepository repository = (TheoryRepository) Proxy.newProxyInstance(
+                TheoryRepository.class.getClassLoader(), new Class<?>[]{TheoryRepository.class},
+                (proxy, method, args) -> {
+                    Object result = method.invoke(theoryRepository, args);
+                    if (method.getName().equals("findTextsAfter") && renamed.compareAndSet(false, true)) {
+                        Theory stored = theoryRepository.findById(theory.getId()).orElseThrow();
+                        stored.setTitle("Amphibian council");
+                        theoryRepository.save(stored);
+                        engine.get().onTheoryChanged(
+                                new TheoryChangedEvent(theory.getId(), TheoryChangedEvent.Change.UPDATED));
+                    }
+                    return result;
+                });
+        engine.set(new InvertedIndexSearchEngine(repository));
+
+        engine.get().rebuild();
+
+        assertTrue(renamed.get());
+        InvertedIndex index = engine.get().getIndex();
+        assertEquals(List.of(theory.getId()), index.search("amphibian", null, 0, 10).hits().stream()
+                .map(InvertedIndex.Hit::theoryId).toList());
+        assertEquals(0, index.search("reptilian", null, 0, 10).totalMatches());
+    }
+
+    private Theory createTheory(String title, String content, TheoryStatus status) {
+        return theoryService.createTheory(TheoryInput.builder()
+                .title(title)
+                .content(content + " Long enough to pass validation.")
+                .status(status)
+                .build(), testUser.getUsername());
+    }
+
+    private Page<Theory> search(String keyword, TheoryStatus status) {
+        TheoryFilter filter = TheoryFilter.builder().keyword(keyword).status(status).build();
+        return theoryService.getTheories(filter, PageInput.builder().page(1).size(10).build());
+    }
+}
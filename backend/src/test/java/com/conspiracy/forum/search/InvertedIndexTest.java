@@ -0,0 +1,127 @@
+package com.conspiracy.forum.search;
+
+import com.conspiracy.forum.enums.TheoryStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void tokenize_ShouldLowercaseAndDropStopWords() {
+        assertEquals(List.of("moon", "hollow", "nasa", "knows", "2024"),
+                Tokenizer.tokenize("The Moon is HOLLOW, NASA knows! (2024)"));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveContentMatches() {
+        index(1L, "Lizard people run banks", "Follow the money.", TheoryStatus.UNVERIFIED);
+        index(2L, "Banking secrets", "Some say lizard overlords exist.", TheoryStatus.UNVERIFIED);
+        index(3L, "Moon landing", "Filmed in a studio.", TheoryStatus.UNVERIFIED);
+
+        InvertedIndex.SearchResult result = index.search("lizard", null, 0, 10);
+
+        assertEquals(2, result.totalMatches());
+        assertEquals(List.of(1L, 2L), ids(result));
+    }
+
+    @Test
+    void search_ShouldFilterByStatus() {
+        index(1L, "Birds are drones", "Batteries on power lines.", TheoryStatus.DEBUNKED);
+        index(2L, "Drones everywhere", "Look up.", TheoryStatus.CONFIRMED);
+
+        assertEquals(List.of(2L), ids(index.search("drones", TheoryStatus.CONFIRMED, 0, 10)));
+    }
+
+    @Test
+    void index_ShouldReplacePreviousVersion_WhenTheoryIsUpdated() {
+        index(1L, "Chemtrails", "Planes spray things.", TheoryStatus.UNVERIFIED);
+        index(1L, "Contrails", "Just water vapour.", TheoryStatus.DEBUNKED);
+
+        assertEquals(0, index.search("chemtrails", null, 0, 10).totalMatches());
+        assertEquals(List.of(1L), ids(index.search("vapour", null, 0, 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void index_ShouldReclaimDocumentSlots_WhenTheoriesAreEditedRepeatedly() {
+        index(1L, "Flat earth", "The horizon looks flat.", TheoryStatus.UNVERIFIED);
+        for (int edit = 0; edit < 5000; edit++) {
+            index(2L, "Edited theory " + edit, "Revision number " + edit + " of the moon landing.",
+                    TheoryStatus.UNVERIFIED);
+        }
+
+        assertTrue(index.documentSlots() <= 1002, "slots: " + index.documentSlots());
+        assertEquals(List.of(2L), ids(index.search("moon", null, 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("horizon", null, 0, 10)));
+        assertEquals(1, index.search("revision", null, 0, 10).totalMatches());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void remove_ShouldDropTheory_FromResults() {
+        index(1L, "Hollow earth", "Entrances at the poles.", TheoryStatus.UNVERIFIED);
+        index.remove(1L);
+
+        assertEquals(0, index.search("hollow", null, 0, 10).totalMatches());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void search_ShouldPageResults_WhileReportingAllMatches() {
+        for (long id = 1; id <= 5; id++) {
+            index(id, "Pyramid theory " + id, "About pyramids.", TheoryStatus.UNVERIFIED);
+        }
+
+        InvertedIndex.SearchResult page = index.search("pyramid", null, 2, 2);
+
+        assertEquals(5, page.totalMatches());
+        assertEquals(List.of(3L, 2L), ids(page));
+    }
+
+    @Test
+    void replaceAll_ShouldMatchIncrementalIndexing() {
+        List<InvertedIndex.AnalyzedTheory> first = new ArrayList<>();
+        List<InvertedIndex.AnalyzedTheory> second = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            InvertedIndex.AnalyzedTheory theory = InvertedIndex.AnalyzedTheory.of(id,
+                    "Theory " + id, id % 2 == 0 ? "aliens built it" : "ancient power plant", TheoryStatus.UNVERIFIED);
+            (id <= 10 ? first : second).add(theory);
+            index.index(theory);
+        }
+        InvertedIndex rebuilt = new InvertedIndex();
+        rebuilt.replaceAll(List.of(InvertedIndex.Segment.of(first), InvertedIndex.Segment.of(second)));
+
+        assertEquals(index.search("aliens power", null, 0, 20), rebuilt.search("aliens power", null, 0, 20));
+        assertEquals(index.postingBytes(), rebuilt.postingBytes());
+    }
+
+    @Test
+    void postingList_ShouldEncodeGapsCompactly() {
+        PostingList postings = new PostingList();
+        List<int[]> decoded = new ArrayList<>();
+        for (int docId = 0; docId < 1000; docId += 3) {
+            postings.add(docId, docId % 300 + 1);
+        }
+        postings.forEach((docId, termFrequency) -> decoded.add(new int[]{docId, termFrequency}));
+
+        assertEquals(334, postings.size());
+        assertEquals(334, decoded.size());
+        assertArrayEquals(new int[]{999, 100}, decoded.get(333));
+        assertTrue(postings.sizeInBytes() < postings.size() * 3);
+        assertThrows(IllegalArgumentException.class, () -> postings.add(5, 1));
+    }
+
+    private void index(Long id, String title, String content, TheoryStatus status) {
+        index.index(InvertedIndex.AnalyzedTheory.of(id, title, content, status));
+    }
+
+    private static List<Long> ids(InvertedIndex.SearchResult result) {
+        return result.hits().stream().map(InvertedIndex.Hit::theoryId).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.conspiracy.forum.search;
+
+import com.conspiracy.forum.event.TheoryChangedEvent;
+import com.conspiracy.forum.repository.TheoryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleSuggesterTest {
+
+    private final Map<Long, String> titles = new ConcurrentHashMap<>(Map.of(1L, "Reptilian council"));
+
+    @Test
+    void rebuild_ShouldKeepChanges_PublishedWhileBatchesAreRead() {
+        AtomicReference<TitleSuggester> suggester = new AtomicReference<>();
+        AtomicBoolean renamed = new AtomicBoolean();
+        // Renames the theory and publishes the change once the first batch has been read
+        TheoryRepository repository = (TheoryRepository) Proxy.newProxyInstance(
+                TheoryRepository.class.getClassLoader(), new Class<?>[]{TheoryRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findTitlesAfter" -> {
+                        List<TheoryRepository.TheoryTitle> batch = titles.entrySet().stream()
+                                .filter(entry -> entry.getKey() > (Long) args[0])
+                                .map(entry -> title(entry.getKey(), entry.getValue()))
+                                .toList();
+                        if (renamed.compareAndSet(false, true)) {
+                            titles.put(1L, "Amphibian council");
+                            suggester.get().onTheoryChanged(
+                                    new TheoryChangedEvent(1L, TheoryChangedEvent.Change.UPDATED));
+                        }
+                        yield batch;
+                    }
+                    case "findTitleById" -> Optional.ofNullable(titles.get((Long) args[0]))
+                            .map(title -> title((Long) args[0], title));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        suggester.set(new TitleSuggester(repository));
+
+        suggester.get().rebuild();
+
+        assertTrue(renamed.get());
+        assertEquals(List.of("Amphibian council"), suggester.get().suggest("amph", 10).stream()
+                .map(TitleTrie.Suggestion::title).toList());
+        assertTrue(suggester.get().suggest("rept", 10).isEmpty());
+    }
+
+    private static TheoryRepository.TheoryTitle title(Long id, String title) {
+        return new TheoryRepository.TheoryTitle() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public int getScore() {
+                return 0;
+            }
+        };
+    }
+}
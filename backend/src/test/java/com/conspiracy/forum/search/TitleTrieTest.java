@@ -0,0 +1,123 @@
+package com.conspiracy.forum.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleTrieTest {
+
+    private final TitleTrie trie = new TitleTrie();
+
+    @Test
+    void suggest_ShouldMatchNormalizedPrefix() {
+        trie.put(1L, "Área 51: The Truth!", 3);
+        trie.put(2L, "Moon landing hoax", 5);
+
+        assertEquals(List.of(1L), ids(trie.suggest("area  51 th", 10)));
+        assertEquals(List.of(1L), ids(trie.suggest("AREA-51", 10)));
+        assertEquals(List.of("Área 51: The Truth!"), trie.suggest("ar", 10).stream()
+                .map(TitleTrie.Suggestion::title).toList());
+        assertTrue(trie.suggest("truth", 10).isEmpty());
+        assertTrue(trie.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldTreatTrailingSeparatorAsWordEnd() {
+        trie.put(1L, "Moon base", 1);
+        trie.put(2L, "Moonshine laws", 2);
+
+        assertEquals(List.of(2L, 1L), ids(trie.suggest("moon", 10)));
+        assertEquals(List.of(1L), ids(trie.suggest("moon ", 10)));
+    }
+
+    @Test
+    void suggest_ShouldReturnBestScoresFirst_UpToLimit() {
+        for (long id = 1; id <= 25; id++) {
+            trie.put(id, "Chemtrail report " + id, (int) (id % 7));
+        }
+
+        List<TitleTrie.Suggestion> suggestions = trie.suggest("chem", 4);
+
+        assertEquals(List.of(20L, 13L, 6L, 19L), ids(suggestions));
+        assertEquals(TitleTrie.TOP_K, trie.suggest("chemtrail", 50).size());
+    }
+
+    @Test
+    void put_ShouldReplacePreviousTitleAndScore() {
+        trie.put(1L, "Chemtrails", 1);
+        trie.put(2L, "Chemical rain", 2);
+        trie.put(1L, "Contrails", 9);
+
+        assertEquals(List.of(2L), ids(trie.suggest("chem", 10)));
+        assertEquals(List.of(1L), ids(trie.suggest("con", 10)));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void remove_ShouldKeepSiblingsReachable() {
+        trie.put(1L, "Moon", 1);
+        trie.put(2L, "Moonshine", 2);
+        trie.put(3L, "Moonlight", 3);
+
+        trie.remove(2L);
+        trie.remove(1L);
+
+        assertEquals(List.of(3L), ids(trie.suggest("moon", 10)));
+        assertEquals(List.of(3L), ids(trie.suggest("moonli", 10)));
+        assertTrue(trie.suggest("moons", 10).isEmpty());
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void incrementalUpdates_ShouldMatchBruteForce() {
+        Random random = new Random(42);
+        String[] words = {"moon", "moonshine", "mars", "mask", "area", "aliens", "alien", "lizard", "lizards"};
+        Map<Long, TitleTrie.Suggestion> expected = new HashMap<>();
+
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(150);
+            if (random.nextInt(4) == 0) {
+                trie.remove(id);
+                expected.remove(id);
+            } else {
+                String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                int score = random.nextInt(20) - 5;
+                trie.put(id, title, score);
+                expected.put(id, new TitleTrie.Suggestion(id, title, score));
+            }
+        }
+
+        TitleTrie rebuilt = new TitleTrie();
+        rebuilt.replaceAll(expected.values());
+        for (String prefix : List.of("m", "mo", "moon", "moon ", "moon m", "ma", "a", "alien", "alien ", "l", "x")) {
+            List<Long> bruteForce = bruteForce(expected, prefix);
+            assertEquals(bruteForce, ids(trie.suggest(prefix, TitleTrie.TOP_K)), prefix);
+            assertEquals(bruteForce, ids(rebuilt.suggest(prefix, TitleTrie.TOP_K)), prefix);
+        }
+        assertEquals(expected.size(), trie.size());
+    }
+
+    private static List<Long> bruteForce(Map<Long, TitleTrie.Suggestion> entries, String prefix) {
+        String key = prefix.endsWith(" ") ? TitleTrie.normalize(prefix) + " " : TitleTrie.normalize(prefix);
+        List<TitleTrie.Suggestion> matches = new ArrayList<>();
+        for (TitleTrie.Suggestion entry : entries.values()) {
+            if (TitleTrie.normalize(entry.title()).startsWith(key)) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Comparator.comparingInt(TitleTrie.Suggestion::score).reversed()
+                .thenComparing(Comparator.comparingLong(TitleTrie.Suggestion::id).reversed()));
+        return ids(matches.subList(0, Math.min(TitleTrie.TOP_K, matches.size())));
+    }
+
+    private static List<Long> ids(List<TitleTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(TitleTrie.Suggestion::id).toList();
+    }
+}
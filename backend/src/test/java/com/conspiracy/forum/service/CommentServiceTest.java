@@ -2,16 +2,22 @@ package com.conspiracy.forum.service;
 
 import com.conspiracy.forum.config.TestMailConfig;
 import com.conspiracy.forum.dto.CommentInput;
+import com.conspiracy.forum.dto.Connection;
+import com.conspiracy.forum.dto.PageInput;
 import com.conspiracy.forum.dto.TheoryInput;
 import com.conspiracy.forum.entity.Comment;
 import com.conspiracy.forum.entity.Theory;
 import com.conspiracy.forum.entity.User;
+import com.conspiracy.forum.enums.CommentSort;
 import com.conspiracy.forum.exception.ResourceNotFoundException;
 import com.conspiracy.forum.exception.UnauthorizedException;
 import com.conspiracy.forum.exception.ValidationException;
 import com.conspiracy.forum.repository.CommentRepository;
 import com.conspiracy.forum.repository.TheoryRepository;
 import com.conspiracy.forum.repository.UserRepository;
+import com.conspiracy.forum.repository.VoteRepository;
+import com.conspiracy.forum.util.PaginationUtils;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,7 +27,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -49,6 +57,15 @@ class CommentServiceTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
     private User testUser;
     private Theory testTheory;
 
@@ -107,6 +124,7 @@ class CommentServiceTest {
                 .theoryId(testTheory.getId())
                 .build();
         commentService.createComment(input, testUser.getUsername());
+        reloadCounters();
 
         Theory updatedTheory = theoryService.getTheoryById(testTheory.getId());
         assertEquals(initialCount + 1, updatedTheory.getCommentCount());
@@ -126,11 +144,112 @@ class CommentServiceTest {
                 .build();
         commentService.createComment(input2, testUser.getUsername());
 
-        List<Comment> comments = commentService.getCommentsByTheory(testTheory.getId());
+        List<Comment> comments = commentService.getCommentsByTheory(testTheory.getId(), CommentSort.NEWEST);
 
         assertEquals(2, comments.size());
     }
 
+    @Test
+    void getCommentsByTheories_ShouldApplyPerTheoryLimit() {
+        Theory otherTheory = theoryService.createTheory(TheoryInput.builder()
+                .title("Other Theory Title")
+                .content("Another test theory with enough content.")
+                .build(), testUser.getUsername());
+        for (int i = 0; i < 4; i++) {
+            commentService.createComment(CommentInput.builder()
+                    .content("Comment number " + i + " on the first theory.")
+                    .theoryId(testTheory.getId())
+                    .build(), testUser.getUsername());
+        }
+        commentService.createComment(CommentInput.builder()
+                .content("Only comment on the other theory.")
+                .theoryId(otherTheory.getId())
+                .build(), testUser.getUsername());
+
+        Map<Long, List<Comment>> limited = commentService.getCommentsByTheories(
+                List.of(testTheory.getId(), otherTheory.getId()), 3);
+        Map<Long, List<Comment>> all = commentService.getCommentsByTheories(
+                List.of(testTheory.getId(), otherTheory.getId()), null);
+
+        assertEquals(3, limited.get(testTheory.getId()).size());
+        assertEquals("Comment number 3 on the first theory.", limited.get(testTheory.getId()).get(0).getContent());
+        assertEquals(1, limited.get(otherTheory.getId()).size());
+        assertEquals(4, all.get(testTheory.getId()).size());
+        assertThrows(ValidationException.class,
+                () -> commentService.getCommentsByTheories(List.of(testTheory.getId()), 0));
+    }
+
+    @Test
+    void getCommentTrees_ShouldNestRepliesUnderParents() {
+        Comment root = commentService.createComment(CommentInput.builder()
+                .content("Root comment with enough content.")
+                .theoryId(testTheory.getId())
+                .build(), testUser.getUsername());
+        Comment reply = commentService.createComment(CommentInput.builder()
+                .content("Reply comment with enough content.")
+                .theoryId(testTheory.getId())
+                .parentId(root.getId())
+                .build(), testUser.getUsername());
+        Comment nestedReply = commentService.createComment(CommentInput.builder()
+                .content("Nested reply with enough content.")
+                .theoryId(testTheory.getId())
+                .parentId(reply.getId())
+                .build(), testUser.getUsername());
+
+        Map<Long, CommentTree> trees = commentService.getCommentTrees(List.of(testTheory.getId(), 99999L));
+
+        CommentTree tree = trees.get(testTheory.getId());
+        assertEquals(List.of(root.getId()), tree.getRoots().stream().map(Comment::getId).toList());
+        assertEquals(List.of(reply.getId()), tree.getReplies(root.getId()).stream().map(Comment::getId).toList());
+        assertEquals(List.of(nestedReply.getId()), tree.getReplies(reply.getId()).stream().map(Comment::getId).toList());
+        assertTrue(tree.getReplies(nestedReply.getId()).isEmpty());
+        assertTrue(trees.get(99999L).getRoots().isEmpty());
+    }
+
+    @Test
+    void createComment_ShouldStoreDepthAndRejectRepliesBeyondMaxDepth() {
+        Comment parent = postComment(null);
+        assertEquals(0, parent.getDepth());
+        for (int depth = 1; depth <= 4; depth++) {
+            parent = postComment(parent.getId());
+            assertEquals(depth, parent.getDepth());
+        }
+
+        Long deepestId = parent.getId();
+        ValidationException exception = assertThrows(ValidationException.class, () -> postComment(deepestId));
+        assertEquals("Maximum comment nesting depth reached", exception.getMessage());
+    }
+
+    @Test
+    void getCommentThread_ShouldReturnSubtreeInDepthFirstOrder() {
+        Comment root = postComment(null);
+        Comment first = postComment(root.getId());
+        Comment second = postComment(root.getId());
+        Comment firstChild = postComment(first.getId());
+        Comment otherRoot = postComment(null);
+        postComment(otherRoot.getId());
+
+        List<Long> thread = commentService.getCommentThread(root.getId()).stream().map(Comment::getId).toList();
+        assertEquals(List.of(root.getId(), first.getId(), firstChild.getId(), second.getId()), thread);
+
+        List<Long> branch = commentService.getCommentThread(first.getId()).stream().map(Comment::getId).toList();
+        assertEquals(List.of(first.getId(), firstChild.getId()), branch);
+        assertTrue(firstChild.getPath().startsWith(first.getPath()));
+    }
+
+    @Test
+    void replyCount_ShouldFollowRepliesBeingAddedAndDeleted() {
+        Comment root = postComment(null);
+        Comment reply = postComment(root.getId());
+        postComment(root.getId());
+        reloadCounters();
+        assertEquals(2, commentService.getCommentById(root.getId()).getReplyCount());
+
+        commentService.deleteComment(reply.getId(), testUser.getUsername());
+        reloadCounters();
+        assertEquals(1, commentService.getCommentById(root.getId()).getReplyCount());
+    }
+
     @Test
     void updateComment_ShouldSucceed_WhenOwner() {
         CommentInput input = CommentInput.builder()
@@ -193,16 +312,127 @@ class CommentServiceTest {
                 .theoryId(testTheory.getId())
                 .build();
         Comment created = commentService.createComment(input, testUser.getUsername());
+        reloadCounters();
 
         Theory theoryAfterAdd = theoryService.getTheoryById(testTheory.getId());
         int countAfterAdd = theoryAfterAdd.getCommentCount();
 
         commentService.deleteComment(created.getId(), testUser.getUsername());
+        reloadCounters();
 
         Theory theoryAfterDelete = theoryService.getTheoryById(testTheory.getId());
         assertEquals(countAfterAdd - 1, theoryAfterDelete.getCommentCount());
     }
 
+    @Test
+    void deleteComment_ShouldRemoveSubtreeAndAdjustCounts() {
+        Comment root = postComment(null);
+        Comment doomed = postComment(root.getId());
+        Comment doomedReply = postComment(doomed.getId());
+        Comment sibling = postComment(root.getId());
+        User voter = userRepository.save(User.builder()
+                .username("subtreevoter")
+                .email("subtreevoter@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build());
+        voteService.voteComment(voter, doomedReply.getId(), 1);
+        voteService.voteComment(voter, sibling.getId(), 1);
+
+        commentService.deleteComment(doomed.getId(), testUser.getUsername());
+        reloadCounters();
+
+        assertEquals(2, theoryService.getTheoryById(testTheory.getId()).getCommentCount());
+        assertEquals(1, commentService.getCommentById(root.getId()).getReplyCount());
+        assertThrows(ResourceNotFoundException.class, () -> commentService.getCommentById(doomedReply.getId()));
+        assertEquals(List.of(root.getId(), sibling.getId()),
+                commentService.getCommentThread(root.getId()).stream().map(Comment::getId).toList());
+        assertTrue(voteRepository.findByUserAndComment(voter, doomedReply).isEmpty());
+        assertTrue(voteRepository.findByUserAndComment(voter, sibling).isPresent());
+    }
+
+    @Test
+    void getCommentsByTheory_ShouldOrderBySort() {
+        Comment controversial = postComment(null);
+        Comment liked = postComment(null);
+        Comment unvoted = postComment(null);
+        Comment reply = postComment(controversial.getId());
+        for (int i = 0; i < 12; i++) {
+            voteService.voteComment(voter(i), controversial.getId(), i < 8 ? 1 : -1);
+        }
+        for (int i = 0; i < 3; i++) {
+            voteService.voteComment(voter(i), liked.getId(), 1);
+        }
+        Long theoryId = testTheory.getId();
+
+        assertEquals(List.of(reply.getId(), unvoted.getId(), liked.getId(), controversial.getId()),
+                ids(commentService.getCommentsByTheory(theoryId, CommentSort.NEWEST)));
+        assertEquals(List.of(controversial.getId(), liked.getId(), unvoted.getId()),
+                ids(commentService.getRootCommentsByTheory(theoryId, CommentSort.OLDEST)));
+        // 8 up and 4 down nets more than 3 up and none down, but with less confidence in the ratio
+        assertEquals(List.of(controversial.getId(), liked.getId(), unvoted.getId()),
+                ids(commentService.getRootCommentsByTheory(theoryId, CommentSort.TOP)));
+        assertEquals(List.of(liked.getId(), controversial.getId(), unvoted.getId()),
+                ids(commentService.getRootCommentsByTheory(theoryId, CommentSort.BEST)));
+        assertEquals(List.of(reply.getId(), unvoted.getId()),
+                ids(commentService.getCommentsByTheoryPaginated(theoryId, PageInput.builder().page(2).size(2).build(),
+                        CommentSort.BEST).getContent()));
+    }
+
+    @Test
+    void getCommentsByTheoryConnection_ShouldKeepFirstPageOrderWhenVotesReorder() {
+        Comment first = postComment(null);
+        Comment second = postComment(null);
+        Comment third = postComment(null);
+        Comment fourth = postComment(null);
+        Comment fifth = postComment(null);
+        voteService.voteComment(voter(0), first.getId(), 1);
+        voteService.voteComment(voter(1), first.getId(), 1);
+        voteService.voteComment(voter(0), second.getId(), 1);
+
+        Connection<Comment> page1 = commentService.getCommentsByTheoryConnection(
+                testTheory.getId(), 2, null, CommentSort.TOP);
+        // A comment not yet read overtakes the cursor, one already read drops below it
+        for (int i = 0; i < 3; i++) {
+            voteService.voteComment(voter(i), third.getId(), 1);
+        }
+        voteService.voteComment(voter(1), second.getId(), -1);
+        voteService.voteComment(voter(2), second.getId(), -1);
+        Connection<Comment> page2 = commentService.getCommentsByTheoryConnection(
+                testTheory.getId(), 2, page1.pageInfo().endCursor(), CommentSort.TOP);
+        Connection<Comment> page3 = commentService.getCommentsByTheoryConnection(
+                testTheory.getId(), 2, page2.pageInfo().endCursor(), CommentSort.TOP);
+
+        assertEquals(List.of(first.getId(), second.getId()), connectionIds(page1));
+        assertEquals(List.of(fifth.getId(), fourth.getId()), connectionIds(page2));
+        assertEquals(List.of(third.getId()), connectionIds(page3));
+        assertTrue(page2.pageInfo().hasPreviousPage());
+        assertTrue(page2.pageInfo().hasNextPage());
+        assertFalse(page3.pageInfo().hasNextPage());
+        assertThrows(ValidationException.class, () -> commentService.getCommentsByTheoryConnection(
+                testTheory.getId(), 2, page1.pageInfo().endCursor(), CommentSort.BEST));
+        assertThrows(ValidationException.class, () -> commentService.getCommentsByTheoryConnection(
+                testTheory.getId(), 2, page1.pageInfo().endCursor(), CommentSort.NEWEST));
+    }
+
+    @Test
+    void getCommentsByTheoryConnection_ShouldFallBackToKeyset_WhenSnapshotIsGone() {
+        Comment first = postComment(null);
+        Comment second = postComment(null);
+        Comment third = postComment(null);
+        voteService.voteComment(voter(0), first.getId(), 1);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("score", 1);
+        keys.put("id", first.getId());
+        keys.put("snapshot", "expired");
+        keys.put("offset", 1);
+
+        Connection<Comment> page = commentService.getCommentsByTheoryConnection(
+                testTheory.getId(), 5, PaginationUtils.encodeCursor(keys), CommentSort.TOP);
+
+        assertEquals(List.of(third.getId(), second.getId()), connectionIds(page));
+        assertTrue(page.pageInfo().hasPreviousPage());
+    }
+
     @Test
     void createComment_WithAnonymous_ShouldSetAnonymousFlag() {
         CommentInput input = CommentInput.builder()
@@ -215,4 +445,35 @@ class CommentServiceTest {
 
         assertTrue(comment.isAnonymousPost());
     }
+
+    // Counters are bulk updates, so entities already in this test's persistence context are stale
+    private void reloadCounters() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private User voter(int index) {
+        String username = "sortvoter" + index;
+        return userRepository.findByUsername(username).orElseGet(() -> userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("password123")
+                .build()));
+    }
+
+    private static List<Long> ids(List<Comment> comments) {
+        return comments.stream().map(Comment::getId).toList();
+    }
+
+    private static List<Long> connectionIds(Connection<Comment> connection) {
+        return connection.edges().stream().map(edge -> edge.node().getId()).toList();
+    }
+
+    private Comment postComment(Long parentId) {
+        return commentService.createComment(CommentInput.builder()
+                .content("Threaded comment with enough content.")
+                .theoryId(testTheory.getId())
+                .parentId(parentId)
+                .build(), testUser.getUsername());
+    }
 }
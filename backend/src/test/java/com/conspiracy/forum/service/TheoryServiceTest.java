@@ -1,28 +1,41 @@
 package com.conspiracy.forum.service;
 
 import com.conspiracy.forum.config.TestMailConfig;
+import com.conspiracy.forum.dto.CommentInput;
+import com.conspiracy.forum.dto.Connection;
 import com.conspiracy.forum.dto.PageInput;
+import com.conspiracy.forum.dto.TheoryFacets;
+import com.conspiracy.forum.dto.TheoryFetchPlan;
 import com.conspiracy.forum.dto.TheoryFilter;
 import com.conspiracy.forum.dto.TheoryInput;
+import com.conspiracy.forum.entity.Comment;
 import com.conspiracy.forum.entity.Theory;
 import com.conspiracy.forum.entity.User;
 import com.conspiracy.forum.enums.TheoryStatus;
 import com.conspiracy.forum.exception.ResourceNotFoundException;
 import com.conspiracy.forum.exception.UnauthorizedException;
 import com.conspiracy.forum.exception.ValidationException;
+import com.conspiracy.forum.repository.CommentRepository;
 import com.conspiracy.forum.repository.TheoryRepository;
 import com.conspiracy.forum.repository.UserRepository;
+import com.conspiracy.forum.repository.VoteRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -44,6 +57,21 @@ class TheoryServiceTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
 
     @BeforeEach
@@ -113,6 +141,43 @@ class TheoryServiceTest {
         assertEquals("Secret Society Theory", found.getTitle());
     }
 
+    @Test
+    void getEvidenceUrlsByTheoryIds_ShouldGroupUrlsByTheory() {
+        Theory withUrls = theoryService.createTheory(TheoryInput.builder()
+                .title("Theory With Evidence")
+                .content("This theory comes with a couple of evidence links.")
+                .evidenceUrls(List.of("https://example.com/a", "https://example.com/b"))
+                .build(), testUser.getUsername());
+        Theory withoutUrls = theoryService.createTheory(TheoryInput.builder()
+                .title("Theory Without Evidence")
+                .content("This theory has no evidence links at all.")
+                .build(), testUser.getUsername());
+
+        Map<Long, List<String>> urls = theoryService.getEvidenceUrlsByTheoryIds(
+                List.of(withUrls.getId(), withoutUrls.getId()));
+
+        assertEquals(2, urls.get(withUrls.getId()).size());
+        assertTrue(urls.get(withUrls.getId()).containsAll(List.of("https://example.com/a", "https://example.com/b")));
+        assertFalse(urls.containsKey(withoutUrls.getId()));
+    }
+
+    @Test
+    void getEvidenceUrlsByTheoryIds_ShouldKeepListOrder() {
+        List<String> evidence = List.of("https://example.com/c", "https://example.com/a", "https://example.com/b");
+        Theory theory = theoryService.createTheory(TheoryInput.builder()
+                .title("Theory With Ordered Evidence")
+                .content("The order of these evidence links matters to the author.")
+                .evidenceUrls(evidence)
+                .build(), testUser.getUsername());
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Long, List<String>> urls = theoryService.getEvidenceUrlsByTheoryIds(List.of(theory.getId()));
+
+        assertEquals(evidence, urls.get(theory.getId()));
+        assertEquals(evidence, theoryService.getTheoryById(theory.getId()).getEvidenceUrls());
+    }
+
     @Test
     void getTheoryById_ShouldThrow_WhenNotFound() {
         assertThrows(ResourceNotFoundException.class, 
@@ -177,6 +242,43 @@ class TheoryServiceTest {
                 () -> theoryService.getTheoryById(created.getId()));
     }
 
+    @Test
+    void deleteTheory_ShouldRemoveCommentTreeAndVotes() {
+        Theory theory = theoryService.createTheory(TheoryInput.builder()
+                .title("Theory with a busy thread")
+                .content("This theory has comments, replies and votes.")
+                .evidenceUrls(new ArrayList<>(List.of("https://example.com/evidence")))
+                .build(), testUser.getUsername());
+        User voter = userRepository.save(User.builder()
+                .username("voter")
+                .email("voter@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build());
+
+        Comment root = commentService.createComment(CommentInput.builder()
+                .content("Root comment on the theory.")
+                .theoryId(theory.getId())
+                .build(), testUser.getUsername());
+        Comment parent = root;
+        for (int i = 0; i < Comment.MAX_DEPTH; i++) {
+            parent = commentService.createComment(CommentInput.builder()
+                    .content("Nested reply at level " + (i + 1))
+                    .theoryId(theory.getId())
+                    .parentId(parent.getId())
+                    .build(), testUser.getUsername());
+        }
+        voteService.voteTheory(voter, theory.getId(), 1);
+        voteService.voteComment(voter, root.getId(), 1);
+        voteService.voteComment(voter, parent.getId(), -1);
+
+        assertTrue(theoryService.deleteTheory(theory.getId(), testUser.getUsername()));
+
+        assertThrows(ResourceNotFoundException.class, () -> theoryService.getTheoryById(theory.getId()));
+        assertEquals(0, commentRepository.countByTheoryId(theory.getId()));
+        assertTrue(voteRepository.findByUserAndTheory(voter, theory).isEmpty());
+        assertTrue(voteRepository.findByUserAndComment(voter, root).isEmpty());
+    }
+
     @Test
     void getTheories_WithFilter_ShouldFilterByStatus() {
         TheoryInput input1 = TheoryInput.builder()
@@ -228,4 +330,206 @@ class TheoryServiceTest {
         assertEquals(1, result.getTotalElements());
         assertTrue(result.getContent().get(0).getTitle().contains("Aliens"));
     }
+
+    @Test
+    void getTheories_WithKeywordAndStatus_ShouldApplyBothFilters() {
+        theoryService.createTheory(TheoryInput.builder()
+                .title("Confirmed Alien Contact")
+                .content("Theory about aliens making contact with farmers.")
+                .status(TheoryStatus.CONFIRMED)
+                .build(), testUser.getUsername());
+        theoryService.createTheory(TheoryInput.builder()
+                .title("Unverified Alien Contact")
+                .content("Theory about aliens making contact with pilots.")
+                .build(), testUser.getUsername());
+
+        TheoryFilter filter = TheoryFilter.builder()
+                .keyword("ALIENS")
+                .status(TheoryStatus.CONFIRMED)
+                .build();
+
+        Page<Theory> result = theoryService.getTheories(filter, PageInput.builder().page(1).size(10).build());
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Confirmed Alien Contact", result.getContent().get(0).getTitle());
+    }
+
+    @Test
+    void getTheorySlice_ShouldPageWithoutTotals() {
+        for (int i = 0; i < 5; i++) {
+            theoryService.createTheory(TheoryInput.builder()
+                    .title("Sliced Theory " + i)
+                    .content("Content for sliced theory number " + i + ".")
+                    .build(), testUser.getUsername());
+        }
+
+        Slice<Theory> firstPage = theoryService.getTheorySlice(null,
+                PageInput.builder().page(1).size(2).build(), TheoryFetchPlan.FULL_ENTITIES);
+        Slice<Theory> lastPage = theoryService.getTheorySlice(null,
+                PageInput.builder().page(3).size(2).build(), TheoryFetchPlan.FULL_ENTITIES);
+
+        assertFalse(firstPage instanceof Page);
+        assertEquals(2, firstPage.getNumberOfElements());
+        assertTrue(firstPage.hasNext());
+        assertEquals(1, lastPage.getNumberOfElements());
+        assertFalse(lastPage.hasNext());
+        assertTrue(lastPage.hasPrevious());
+    }
+
+    @Test
+    void getTheorySlice_WithoutContent_ShouldReadProjectionMatchingEntities() {
+        for (int i = 0; i < 5; i++) {
+            theoryService.createTheory(TheoryInput.builder()
+                    .title("Projected Theory " + i)
+                    .content("Content for projected theory number " + i + ".")
+                    .build(), testUser.getUsername());
+        }
+        TheoryFetchPlan withoutContent = new TheoryFetchPlan(true, true, false);
+        PageInput pageInput = PageInput.builder().page(2).size(2).build();
+
+        Slice<Theory> projected = theoryService.getTheorySlice(null, pageInput, withoutContent);
+        Slice<Theory> loaded = theoryService.getTheorySlice(null, pageInput, TheoryFetchPlan.FULL_ENTITIES);
+
+        assertEquals(loaded.map(Theory::getId).getContent(), projected.map(Theory::getId).getContent());
+        assertEquals(loaded.map(Theory::getTitle).getContent(), projected.map(Theory::getTitle).getContent());
+        assertTrue(projected.hasNext());
+        Theory theory = projected.getContent().get(0);
+        assertNull(theory.getContent());
+        assertNull(theory.getEvidenceUrls());
+        assertEquals(testUser.getId(), theory.getAuthorId());
+        assertFalse(entityManager.contains(theory));
+    }
+
+    @Test
+    void getTheoriesConnection_WithoutContent_ShouldPageLikeEntities() {
+        for (int i = 0; i < 5; i++) {
+            theoryService.createTheory(TheoryInput.builder()
+                    .title("Scrolled Theory " + i)
+                    .content("Content for scrolled theory number " + i + ".")
+                    .build(), testUser.getUsername());
+        }
+        TheoryFetchPlan withoutContent = new TheoryFetchPlan(false, false, false);
+
+        Connection<Theory> first = theoryService.getTheoriesConnection(null, 2, null, withoutContent);
+        Connection<Theory> projected = theoryService.getTheoriesConnection(
+                null, 2, first.pageInfo().endCursor(), withoutContent);
+        Connection<Theory> loaded = theoryService.getTheoriesConnection(
+                null, 2, first.pageInfo().endCursor(), TheoryFetchPlan.FULL_ENTITIES);
+
+        assertEquals(loaded.edges().stream().map(edge -> edge.node().getId()).toList(),
+                projected.edges().stream().map(edge -> edge.node().getId()).toList());
+        assertTrue(projected.pageInfo().hasNextPage());
+        assertTrue(projected.pageInfo().hasPreviousPage());
+    }
+
+    @Test
+    void getTheories_ShouldReportTotals_WhenPageIsFull() {
+        for (int i = 0; i < 5; i++) {
+            theoryService.createTheory(TheoryInput.builder()
+                    .title("Counted Theory " + i)
+                    .content("Content for counted theory number " + i + ".")
+                    .build(), testUser.getUsername());
+        }
+
+        Page<Theory> result = theoryService.getTheories(null, PageInput.builder().page(2).size(2).build());
+
+        assertEquals(5, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+        assertEquals(2, result.getNumberOfElements());
+    }
+
+    @Test
+    void getTheories_WithAuthorFetchPlan_ShouldInitializeAuthor() {
+        theoryService.createTheory(TheoryInput.builder()
+                .title("Chemtrails Over Town")
+                .content("Theory about the planes leaving long white trails.")
+                .evidenceUrls(List.of("https://example.com/trails"))
+                .build(), testUser.getUsername());
+        entityManager.flush();
+        entityManager.clear();
+
+        PageInput pageInput = PageInput.builder().page(1).size(10).build();
+        Theory planned = theoryService.getTheories(null, pageInput, new TheoryFetchPlan(true, true, true))
+                .getContent().get(0);
+
+        assertTrue(Hibernate.isInitialized(planned.getAuthor()));
+        assertEquals(testUser.getUsername(), planned.getAuthor().getUsername());
+        assertFalse(Hibernate.isInitialized(planned.getEvidenceUrls()));
+
+        entityManager.clear();
+        Theory unplanned = theoryService.getTheories(null, pageInput, TheoryFetchPlan.FULL_ENTITIES)
+                .getContent().get(0);
+
+        assertFalse(Hibernate.isInitialized(unplanned.getAuthor()));
+    }
+
+    @Test
+    void getTheoriesByUser_WithEvidenceFetchPlan_ShouldInitializeEvidenceUrls() {
+        theoryService.createTheory(TheoryInput.builder()
+                .title("Birds Are Drones")
+                .content("Theory about surveillance devices shaped like birds.")
+                .evidenceUrls(List.of("https://example.com/birds"))
+                .build(), testUser.getUsername());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Theory> theories = theoryService.getTheoriesByUser(testUser.getId(), new TheoryFetchPlan(false, true, true));
+
+        assertEquals(1, theories.size());
+        assertTrue(Hibernate.isInitialized(theories.get(0).getEvidenceUrls()));
+        assertEquals(List.of("https://example.com/birds"), theories.get(0).getEvidenceUrls());
+    }
+
+    @Test
+    void getTheoryFacets_ShouldCountEachFacetWithTheOtherFiltersApplied() {
+        saveTheory("Aliens in Nevada", TheoryStatus.UNVERIFIED, 0);
+        saveTheory("Aliens at the poles", TheoryStatus.UNVERIFIED, 5);
+        saveTheory("Birds are drones", TheoryStatus.UNVERIFIED, 12);
+        saveTheory("Aliens built the pyramids", TheoryStatus.CONFIRMED, 30);
+        saveTheory("Flat earth", TheoryStatus.DEBUNKED, 1);
+
+        TheoryFacets all = theoryService.getTheoryFacets(null);
+        assertEquals(5, all.total());
+        assertEquals(Map.of(TheoryStatus.UNVERIFIED, 3L, TheoryStatus.DEBUNKED, 1L, TheoryStatus.CONFIRMED, 1L),
+                statusCounts(all));
+        assertEquals(Map.of(1, 4L, 5, 3L, 10, 2L, 25, 1L), commentCounts(all));
+
+        TheoryFacets unverified = theoryService.getTheoryFacets(
+                TheoryFilter.builder().status(TheoryStatus.UNVERIFIED).build());
+        assertEquals(3, unverified.total());
+        assertEquals(statusCounts(all), statusCounts(unverified));
+        assertEquals(Map.of(1, 2L, 5, 2L, 10, 1L, 25, 0L), commentCounts(unverified));
+
+        TheoryFacets hot = theoryService.getTheoryFacets(TheoryFilter.builder().hotOnly(true).build());
+        assertEquals(3, hot.total());
+        assertEquals(Map.of(TheoryStatus.UNVERIFIED, 2L, TheoryStatus.DEBUNKED, 0L, TheoryStatus.CONFIRMED, 1L),
+                statusCounts(hot));
+
+        TheoryFacets aliens = theoryService.getTheoryFacets(TheoryFilter.builder().keyword("aliens").build());
+        assertEquals(3, aliens.total());
+        assertEquals(Map.of(TheoryStatus.UNVERIFIED, 2L, TheoryStatus.DEBUNKED, 0L, TheoryStatus.CONFIRMED, 1L),
+                statusCounts(aliens));
+        assertEquals(Map.of(1, 2L, 5, 2L, 10, 1L, 25, 1L), commentCounts(aliens));
+    }
+
+    private void saveTheory(String title, TheoryStatus status, int commentCount) {
+        theoryRepository.save(Theory.builder()
+                .title(title)
+                .content("Content long enough to describe " + title.toLowerCase() + ".")
+                .status(status)
+                .commentCount(commentCount)
+                .author(testUser)
+                .build());
+    }
+
+    private static Map<TheoryStatus, Long> statusCounts(TheoryFacets facets) {
+        return facets.statuses().stream()
+                .collect(Collectors.toMap(TheoryFacets.StatusFacet::status, TheoryFacets.StatusFacet::count));
+    }
+
+    private static Map<Integer, Long> commentCounts(TheoryFacets facets) {
+        return facets.commentCounts().stream()
+                .collect(Collectors.toMap(TheoryFacets.CommentCountFacet::minCommentCount,
+                        TheoryFacets.CommentCountFacet::count));
+    }
 }
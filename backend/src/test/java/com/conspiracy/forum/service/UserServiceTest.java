@@ -14,6 +14,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -90,6 +91,22 @@ class UserServiceTest {
         assertEquals(2, users.size());
     }
 
+    @Test
+    void getUsersByIds_ShouldReturnUsersKeyedById() {
+        User secondUser = User.builder()
+                .username("seconduser")
+                .email("second@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build();
+        secondUser = userRepository.save(secondUser);
+
+        Map<Long, User> users = userService.getUsersByIds(List.of(testUser.getId(), secondUser.getId(), 99999L));
+
+        assertEquals(2, users.size());
+        assertEquals("testuser", users.get(testUser.getId()).getUsername());
+        assertEquals("seconduser", users.get(secondUser.getId()).getUsername());
+    }
+
     @Test
     void updateAnonymousSetting_ShouldSetToTrue() {
         assertFalse(testUser.isAnonymousMode());
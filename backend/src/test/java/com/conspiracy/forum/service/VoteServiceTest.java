@@ -6,6 +6,7 @@ import com.conspiracy.forum.entity.Comment;
 import com.conspiracy.forum.entity.Theory;
 import com.conspiracy.forum.entity.User;
 import com.conspiracy.forum.entity.Vote;
+import com.conspiracy.forum.ranking.WilsonScore;
 import com.conspiracy.forum.repository.CommentRepository;
 import com.conspiracy.forum.repository.TheoryRepository;
 import com.conspiracy.forum.repository.UserRepository;
@@ -175,6 +176,26 @@ class VoteServiceTest {
         assertEquals(-1, result.getScore());
     }
 
+    @Test
+    void voteComment_ShouldKeepVoteTalliesAndBestScoreInStep() {
+        Comment comment = createTestComment();
+
+        Comment upvoted = voteService.voteComment(testUser, comment.getId(), 1);
+        assertEquals(1, upvoted.getUpVotes());
+        assertEquals(WilsonScore.lowerBound(1, 0), upvoted.getBestScore(), 1e-9);
+
+        Comment switched = voteService.voteComment(testUser, comment.getId(), -1);
+        assertEquals(0, switched.getUpVotes());
+        assertEquals(1, switched.getDownVotes());
+        assertEquals(0, switched.getBestScore());
+
+        voteService.voteComment(otherUser, comment.getId(), 1);
+        Comment removed = voteService.voteComment(testUser, comment.getId(), -1);
+        assertEquals(1, removed.getUpVotes());
+        assertEquals(0, removed.getDownVotes());
+        assertEquals(WilsonScore.lowerBound(1, 0), removed.getBestScore(), 1e-9);
+    }
+
     @Test
     void voteComment_ShouldUpdateAuthorReputation() {
         Comment comment = createTestComment();
@@ -1,10 +1,17 @@
 package com.conspiracy.forum.util;
 
 import com.conspiracy.forum.dto.PageInput;
+import com.conspiracy.forum.exception.ValidationException;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PaginationUtilsTest {
@@ -103,4 +110,40 @@ class PaginationUtilsTest {
         assertEquals("title", sort.iterator().next().getProperty());
         assertEquals(Sort.Direction.ASC, sort.iterator().next().getDirection());
     }
+
+    @Test
+    void createScrollPosition_ShouldStartAtTop_WhenCursorIsNull() {
+        ScrollPosition position = PaginationUtils.createScrollPosition(null, Sort.by("postedAt", "id"));
+
+        assertTrue(position.isInitial());
+    }
+
+    @Test
+    void createScrollPosition_ShouldDecodeEncodedCursor() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("postedAt", LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000));
+        keys.put("id", 42L);
+
+        ScrollPosition position = PaginationUtils.createScrollPosition(
+                PaginationUtils.encodeCursor(keys), Sort.by("postedAt", "id"));
+
+        assertEquals(keys, ((KeysetScrollPosition) position).getKeys());
+    }
+
+    @Test
+    void createScrollPosition_ShouldRejectCursorForDifferentSort() {
+        String cursor = PaginationUtils.encodeCursor(Map.of("id", 42L));
+
+        assertThrows(ValidationException.class,
+                () -> PaginationUtils.createScrollPosition(cursor, Sort.by("commentCount", "postedAt", "id")));
+        assertThrows(ValidationException.class,
+                () -> PaginationUtils.createScrollPosition("garbage!", Sort.by("id")));
+    }
+
+    @Test
+    void resolveLimit_ShouldClampToBounds() {
+        assertEquals(10, PaginationUtils.resolveLimit(null));
+        assertEquals(1, PaginationUtils.resolveLimit(0));
+        assertEquals(100, PaginationUtils.resolveLimit(500));
+    }
 }
@@ -1,3 +1,4 @@
+-- The pre-Flyway docker-entrypoint init.sql, kept to test that databases it created still migrate.
 
 DROP TABLE IF EXISTS votes;
 DROP TABLE IF EXISTS comments;
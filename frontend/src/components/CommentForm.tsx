@@ -14,7 +14,7 @@ export default function CommentForm({ theoryId }: CommentFormProps) {
   const [error, setError] = useState('');
 
   const [createComment, { loading }] = useMutation(CREATE_COMMENT, {
-    refetchQueries: [{ query: GET_THEORY, variables: { id: theoryId } }],
+    refetchQueries: [GET_THEORY],
   });
 
   const handleSubmit = async (e: React.FormEvent) => {
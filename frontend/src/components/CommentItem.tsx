@@ -1,7 +1,15 @@
 import { useState } from 'react';
-import { useMutation } from '@apollo/client/react';
-import { Comment } from '../types';
-import { DELETE_COMMENT, UPDATE_COMMENT, GET_THEORY, VOTE_COMMENT, CREATE_COMMENT } from '../graphql/operations';
+import { useApolloClient, useMutation } from '@apollo/client/react';
+import { Comment, CommentConnection } from '../types';
+import {
+  DELETE_COMMENT,
+  UPDATE_COMMENT,
+  GET_THEORY,
+  VOTE_COMMENT,
+  CREATE_COMMENT,
+  GET_COMMENT_REPLIES,
+  REPLY_PAGE_SIZE,
+} from '../graphql/operations';
 import { useAuth } from '../context/AuthContext';
 
 interface CommentItemProps {
@@ -21,23 +29,31 @@ export default function CommentItem({ comment, theoryId, currentUserId, depth =
   const [localScore, setLocalScore] = useState(comment.score);
   const [userVote, setUserVote] = useState(0);
   const [collapsed, setCollapsed] = useState(false);
+  const [loadedReplies, setLoadedReplies] = useState<Comment[]>([]);
+  const [loadedCursor, setLoadedCursor] = useState<string | undefined>();
+  const [loadedHasMore, setLoadedHasMore] = useState<boolean | undefined>();
+  const [loadingReplies, setLoadingReplies] = useState(false);
+  const client = useApolloClient();
 
   const [updateComment, { loading: updating }] = useMutation(UPDATE_COMMENT, {
-    refetchQueries: [{ query: GET_THEORY, variables: { id: theoryId } }],
+    refetchQueries: [GET_THEORY],
   });
 
   const [deleteComment, { loading: deleting }] = useMutation(DELETE_COMMENT, {
-    refetchQueries: [{ query: GET_THEORY, variables: { id: theoryId } }],
+    refetchQueries: [GET_THEORY],
   });
   
   const [voteComment] = useMutation(VOTE_COMMENT);
 
   const [createComment, { loading: creatingReply }] = useMutation(CREATE_COMMENT, {
-    refetchQueries: [{ query: GET_THEORY, variables: { id: theoryId } }],
+    refetchQueries: [GET_THEORY],
   });
 
   const isOwner = currentUserId && comment.author?.id === currentUserId;
-  const hasReplies = comment.replies && comment.replies.length > 0;
+  const replies = [...(comment.repliesConnection?.edges.map((edge) => edge.node) ?? []), ...loadedReplies];
+  const hasReplies = comment.replyCount > 0;
+  const hasMoreReplies = loadedHasMore ?? (comment.repliesConnection?.pageInfo.hasNextPage ?? hasReplies);
+  const remainingReplies = comment.replyCount - replies.length;
   const maxDepth = 4;
 
   const handleUpdate = async () => {
@@ -92,6 +108,31 @@ export default function CommentItem({ comment, theoryId, currentUserId, depth =
     }
   };
   
+  const handleLoadReplies = async () => {
+    setLoadingReplies(true);
+    try {
+      const { data } = await client.query<{ comment: { repliesConnection: CommentConnection } }>({
+        query: GET_COMMENT_REPLIES,
+        variables: {
+          id: comment.id,
+          first: REPLY_PAGE_SIZE,
+          after: loadedCursor ?? comment.repliesConnection?.pageInfo.endCursor,
+        },
+        fetchPolicy: 'network-only',
+      });
+      const page = data?.comment.repliesConnection;
+      if (page) {
+        setLoadedReplies([...loadedReplies, ...page.edges.map((edge) => edge.node)]);
+        setLoadedCursor(page.pageInfo.endCursor);
+        setLoadedHasMore(page.pageInfo.hasNextPage);
+      }
+    } catch (err) {
+      setError(err instanceof Error ? err.message : 'Failed to load replies');
+    } finally {
+      setLoadingReplies(false);
+    }
+  };
+
   const handleVote = async (value: number) => {
     if (!isAuthenticated) return;
 
@@ -262,7 +303,7 @@ export default function CommentItem({ comment, theoryId, currentUserId, depth =
 
       {!collapsed && hasReplies && (
         <div className="mt-2 space-y-2">
-          {comment.replies.map((reply) => (
+          {replies.map((reply) => (
             <CommentItem
               key={reply.id}
               comment={reply}
@@ -271,6 +312,17 @@ export default function CommentItem({ comment, theoryId, currentUserId, depth =
               depth={depth + 1}
             />
           ))}
+          {hasMoreReplies && (
+            <button
+              onClick={handleLoadReplies}
+              disabled={loadingReplies}
+              className="ml-2 text-xs text-gray-400 hover:text-blue-400 transition-colors disabled:opacity-50"
+            >
+              {loadingReplies
+                ? 'Loading...'
+                : `Load more replies${remainingReplies > 0 ? ` (${remainingReplies})` : ''}`}
+            </button>
+          )}
         </div>
       )}
     </div>
@@ -1,12 +1,12 @@
 import { Link } from 'react-router-dom';
-import { Theory, TheoryStatus } from '../types';
+import { TheorySummary, TheoryStatus } from '../types';
 import { useMutation } from '@apollo/client/react';
 import { VOTE_THEORY } from '../graphql/operations';
 import { useAuth } from '../context/AuthContext';
 import { useState } from 'react';
 
 interface TheoryCardProps {
-  theory: Theory;
+  theory: TheorySummary;
 }
 
 const statusConfig = {
@@ -93,7 +93,7 @@ export default function TheoryCard({ theory }: TheoryCardProps) {
       </h3>
 
       <p className="text-gray-400 text-sm line-clamp-3 mb-4">
-        {theory.content}
+        {theory.excerpt}
       </p>
 
       <div className="flex items-center justify-between">
@@ -122,9 +122,9 @@ export default function TheoryCard({ theory }: TheoryCardProps) {
           </div>
         </div>
 
-        {theory.evidenceUrls.length > 0 && (
+        {theory.evidenceCount > 0 && (
           <span className="text-xs text-purple-400 flex items-center gap-1">
-            📎 {theory.evidenceUrls.length} evidence link{theory.evidenceUrls.length > 1 ? 's' : ''}
+            📎 {theory.evidenceCount} evidence link{theory.evidenceCount > 1 ? 's' : ''}
           </span>
         )}
       </div>
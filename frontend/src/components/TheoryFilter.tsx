@@ -1,5 +1,7 @@
 import { useState } from 'react';
-import { TheoryStatus, TheoryFilter as TheoryFilterType } from '../types';
+import { useQuery } from '@apollo/client/react';
+import { GET_THEORY_FACETS } from '../graphql/operations';
+import { TheoryStatus, TheoryFilter as TheoryFilterType, TheoryFacets } from '../types';
 
 interface TheoryFilterProps {
   onFilterChange: (filter: TheoryFilterType) => void;
@@ -10,6 +12,20 @@ export default function TheoryFilter({ onFilterChange, currentFilter }: TheoryFi
   const [isExpanded, setIsExpanded] = useState(false);
   const [keyword, setKeyword] = useState(currentFilter.keyword || '');
 
+  // Same filter the listing receives, so each count matches what clicking the option shows
+  const { data: facetData } = useQuery<{ theoryFacets: TheoryFacets }>(GET_THEORY_FACETS, {
+    variables: {
+      filter: currentFilter.hotOnly ? { ...currentFilter, minCommentCount: 1 } : currentFilter,
+    },
+    skip: !isExpanded,
+  });
+  const facets = facetData?.theoryFacets;
+  const statusCount = (status: TheoryStatus) =>
+    facets?.statuses.find((facet) => facet.status === status)?.count;
+  const allCount = facets?.statuses.reduce((sum, facet) => sum + facet.count, 0);
+  const hotCount = facets?.commentCounts.find((facet) => facet.minCommentCount === 1)?.count;
+  const formatCount = (count?: number) => (count === undefined ? '' : ` (${count})`);
+
   const handleStatusChange = (status: TheoryStatus | undefined) => {
     onFilterChange({ ...currentFilter, status });
   };
@@ -97,7 +113,7 @@ export default function TheoryFilter({ onFilterChange, currentFilter }: TheoryFi
                     : 'bg-gray-800 text-gray-300 hover:bg-gray-700'
                 }`}
               >
-                All
+                All{formatCount(allCount)}
               </button>
               <button
                 onClick={() => handleStatusChange(TheoryStatus.UNVERIFIED)}
@@ -107,7 +123,7 @@ export default function TheoryFilter({ onFilterChange, currentFilter }: TheoryFi
                     : 'bg-gray-800 text-gray-300 hover:bg-gray-700'
                 }`}
               >
-                ❓ Unverified
+                ❓ Unverified{formatCount(statusCount(TheoryStatus.UNVERIFIED))}
               </button>
               <button
                 onClick={() => handleStatusChange(TheoryStatus.CONFIRMED)}
@@ -117,7 +133,7 @@ export default function TheoryFilter({ onFilterChange, currentFilter }: TheoryFi
                     : 'bg-gray-800 text-gray-300 hover:bg-gray-700'
                 }`}
               >
-                ✅ Confirmed
+                ✅ Confirmed{formatCount(statusCount(TheoryStatus.CONFIRMED))}
               </button>
               <button
                 onClick={() => handleStatusChange(TheoryStatus.DEBUNKED)}
@@ -127,7 +143,7 @@ export default function TheoryFilter({ onFilterChange, currentFilter }: TheoryFi
                     : 'bg-gray-800 text-gray-300 hover:bg-gray-700'
                 }`}
               >
-                ❌ Debunked
+                ❌ Debunked{formatCount(statusCount(TheoryStatus.DEBUNKED))}
               </button>
             </div>
           </div>
@@ -142,7 +158,7 @@ export default function TheoryFilter({ onFilterChange, currentFilter }: TheoryFi
                   : 'bg-gray-800 text-gray-300 hover:bg-gray-700'
               }`}
             >
-              🔥 Hot Theories Only
+              🔥 Hot Theories Only{formatCount(hotCount)}
             </button>
             <span className="text-xs text-gray-500">
               (Most commented)
@@ -1,10 +1,21 @@
 import { ApolloClient, InMemoryCache, createHttpLink } from '@apollo/client/core';
 import { setContext } from '@apollo/client/link/context';
+import { createPersistedQueryLink } from '@apollo/client/link/persisted-queries';
 
 const httpLink = createHttpLink({
   uri: '/graphql',
 });
 
+const sha256 = async (query: string) => {
+  const digest = await crypto.subtle.digest('SHA-256', new TextEncoder().encode(query));
+  return Array.from(new Uint8Array(digest), (byte) => byte.toString(16).padStart(2, '0')).join('');
+};
+
+// crypto.subtle only exists in secure contexts, so plain-HTTP deployments send full queries instead
+const persistedQueryLink = globalThis.crypto?.subtle
+  ? createPersistedQueryLink({ sha256 })
+  : null;
+
 const authLink = setContext((_, { headers }) => {
   const token = localStorage.getItem('token');
   return {
@@ -16,7 +27,9 @@ const authLink = setContext((_, { headers }) => {
 });
 
 export const client = new ApolloClient({
-  link: authLink.concat(httpLink),
+  link: persistedQueryLink
+    ? authLink.concat(persistedQueryLink).concat(httpLink)
+    : authLink.concat(httpLink),
   cache: new InMemoryCache({
     typePolicies: {
       Query: {
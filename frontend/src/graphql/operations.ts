@@ -16,6 +16,21 @@ export const THEORY_FRAGMENT = gql`
   }
 `;
 
+export const THEORY_SUMMARY_FRAGMENT = gql`
+  fragment TheorySummaryFields on TheorySummary {
+    id
+    title
+    excerpt(length: 240)
+    status
+    postedAt
+    isAnonymousPost
+    score
+    authorName
+    commentCount
+    evidenceCount
+  }
+`;
+
 export const COMMENT_FRAGMENT = gql`
   fragment CommentFields on Comment {
     id
@@ -32,15 +47,54 @@ export const COMMENT_FRAGMENT = gql`
   }
 `;
 
+export const REPLY_PAGE_SIZE = 10;
+
 export const COMMENT_WITH_REPLIES_FRAGMENT = gql`
   fragment CommentWithReplies on Comment {
     ...CommentFields
-    replies {
-      ...CommentFields
-      replies {
-        ...CommentFields
-        replies {
+    replyCount
+    repliesConnection(first: 5) {
+      edges {
+        node {
           ...CommentFields
+          replyCount
+          repliesConnection(first: 5) {
+            edges {
+              node {
+                ...CommentFields
+                replyCount
+              }
+            }
+            pageInfo {
+              hasNextPage
+              endCursor
+            }
+          }
+        }
+      }
+      pageInfo {
+        hasNextPage
+        endCursor
+      }
+    }
+  }
+  ${COMMENT_FRAGMENT}
+`;
+
+export const GET_COMMENT_REPLIES = gql`
+  query GetCommentReplies($id: ID!, $first: Int, $after: String) {
+    comment(id: $id) {
+      id
+      repliesConnection(first: $first, after: $after) {
+        edges {
+          node {
+            ...CommentFields
+            replyCount
+          }
+        }
+        pageInfo {
+          hasNextPage
+          endCursor
         }
       }
     }
@@ -57,11 +111,11 @@ export const GET_THEORIES = gql`
   ${THEORY_FRAGMENT}
 `;
 
-export const GET_THEORIES_PAGINATED = gql`
-  query GetTheoriesPaginated($filter: TheoryFilter, $page: PageInput) {
-    theoriesPaginated(filter: $filter, page: $page) {
+export const GET_THEORY_SUMMARIES = gql`
+  query GetTheorySummaries($filter: TheoryFilter, $page: PageInput) {
+    theorySummaries(filter: $filter, page: $page) {
       content {
-        ...TheoryFields
+        ...TheorySummaryFields
       }
       totalElements
       totalPages
@@ -70,11 +124,11 @@ export const GET_THEORIES_PAGINATED = gql`
       hasPrevious
     }
   }
-  ${THEORY_FRAGMENT}
+  ${THEORY_SUMMARY_FRAGMENT}
 `;
 
 export const GET_THEORY = gql`
-  query GetTheory($id: ID!) {
+  query GetTheory($id: ID!, $sort: CommentSort) {
     theory(id: $id) {
       ...TheoryFields
       author {
@@ -82,7 +136,7 @@ export const GET_THEORY = gql`
         reputation
       }
     }
-    rootCommentsByTheory(theoryId: $id) {
+    rootCommentsByTheory(theoryId: $id, sort: $sort) {
       ...CommentWithReplies
     }
   }
@@ -90,22 +144,38 @@ export const GET_THEORY = gql`
   ${COMMENT_WITH_REPLIES_FRAGMENT}
 `;
 
-export const GET_THEORIES_BY_USER = gql`
-  query GetTheoriesByUser($userId: ID!) {
-    theoriesByUser(userId: $userId) {
-      ...TheoryFields
+export const GET_THEORY_SUMMARIES_BY_USER = gql`
+  query GetTheorySummariesByUser($userId: ID!) {
+    theorySummariesByUser(userId: $userId) {
+      ...TheorySummaryFields
     }
   }
-  ${THEORY_FRAGMENT}
+  ${THEORY_SUMMARY_FRAGMENT}
 `;
 
-export const GET_HOT_THEORIES = gql`
-  query GetHotTheories($page: PageInput) {
-    hotTheories(page: $page) {
-      ...TheoryFields
+export const GET_HOT_THEORY_SUMMARIES = gql`
+  query GetHotTheorySummaries($page: PageInput) {
+    hotTheorySummaries(page: $page) {
+      ...TheorySummaryFields
+    }
+  }
+  ${THEORY_SUMMARY_FRAGMENT}
+`;
+
+export const GET_THEORY_FACETS = gql`
+  query GetTheoryFacets($filter: TheoryFilter) {
+    theoryFacets(filter: $filter) {
+      total
+      statuses {
+        status
+        count
+      }
+      commentCounts {
+        minCommentCount
+        count
+      }
     }
   }
-  ${THEORY_FRAGMENT}
 `;
 
 export const GET_ME = gql`
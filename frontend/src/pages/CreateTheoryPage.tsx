@@ -5,7 +5,7 @@ import {
   CREATE_THEORY,
   UPDATE_THEORY,
   GET_THEORY,
-  GET_THEORIES_PAGINATED,
+  GET_THEORY_SUMMARIES,
 } from '../graphql/operations';
 import { TheoryStatus, Theory } from '../types';
 import { useAuth } from '../context/AuthContext';
@@ -46,14 +46,14 @@ export default function CreateTheoryPage() {
   }, [theoryData, formInitialized]);
 
   const [createTheory, { loading: creating }] = useMutation<{ createTheory: Theory }>(CREATE_THEORY, {
-    refetchQueries: [{ query: GET_THEORIES_PAGINATED }],
+    refetchQueries: [{ query: GET_THEORY_SUMMARIES }],
     onCompleted: (data) => {
       navigate(`/theory/${data.createTheory.id}`);
     },
   });
 
   const [updateTheory, { loading: updating }] = useMutation<{ updateTheory: Theory }>(UPDATE_THEORY, {
-    refetchQueries: [{ query: GET_THEORIES_PAGINATED }, { query: GET_THEORY, variables: { id } }],
+    refetchQueries: [{ query: GET_THEORY_SUMMARIES }, { query: GET_THEORY, variables: { id } }],
     onCompleted: () => {
       navigate(`/theory/${id}`);
     },
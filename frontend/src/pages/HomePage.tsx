@@ -1,7 +1,7 @@
 import { useState } from 'react';
 import { useQuery } from '@apollo/client/react';
-import { GET_THEORIES_PAGINATED } from '../graphql/operations';
-import { TheoryFilter as TheoryFilterType, TheoriesPage } from '../types';
+import { GET_THEORY_SUMMARIES } from '../graphql/operations';
+import { TheoryFilter as TheoryFilterType, TheorySummaryPage } from '../types';
 import TheoryCard from '../components/TheoryCard';
 import TheoryFilter from '../components/TheoryFilter';
 import Loading from '../components/Loading';
@@ -11,8 +11,8 @@ export default function HomePage() {
   const [page, setPage] = useState(1);
   const pageSize = 10;
 
-  const { data, loading, error } = useQuery<{ theoriesPaginated: TheoriesPage }>(
-    GET_THEORIES_PAGINATED,
+  const { data, loading, error } = useQuery<{ theorySummaries: TheorySummaryPage }>(
+    GET_THEORY_SUMMARIES,
     {
       variables: {
         filter: filter.hotOnly ? { ...filter, minCommentCount: 1 } : filter,
@@ -52,7 +52,7 @@ export default function HomePage() {
           </p>
           <p className="text-gray-500 mt-2">{error.message}</p>
         </div>
-      ) : data?.theoriesPaginated.content.length === 0 ? (
+      ) : data?.theorySummaries.content.length === 0 ? (
         <div className="text-center py-12">
           <p className="text-gray-400 text-lg">
             🔍 No theories found matching your criteria.
@@ -66,34 +66,34 @@ export default function HomePage() {
           {/* Stats Bar */}
           <div className="flex items-center justify-between mb-6 text-sm text-gray-500">
             <span>
-              Showing {data?.theoriesPaginated.content.length} of{' '}
-              {data?.theoriesPaginated.totalElements} classified documents
+              Showing {data?.theorySummaries.content.length} of{' '}
+              {data?.theorySummaries.totalElements} classified documents
             </span>
             <span>
-              Page {data?.theoriesPaginated.currentPage} of{' '}
-              {data?.theoriesPaginated.totalPages}
+              Page {data?.theorySummaries.currentPage} of{' '}
+              {data?.theorySummaries.totalPages}
             </span>
           </div>
 
           {/* Theory Grid */}
           <div className="grid gap-6 md:grid-cols-2">
-            {data?.theoriesPaginated.content.map((theory) => (
+            {data?.theorySummaries.content.map((theory) => (
               <TheoryCard key={theory.id} theory={theory} />
             ))}
           </div>
 
           {/* Pagination */}
-          {data && data.theoriesPaginated.totalPages > 1 && (
+          {data && data.theorySummaries.totalPages > 1 && (
             <div className="flex items-center justify-center gap-4 mt-8">
               <button
                 onClick={() => setPage((p) => Math.max(1, p - 1))}
-                disabled={!data.theoriesPaginated.hasPrevious}
+                disabled={!data.theorySummaries.hasPrevious}
                 className="px-4 py-2 bg-gray-800 text-gray-300 rounded-lg disabled:opacity-50 disabled:cursor-not-allowed hover:bg-gray-700 transition-colors"
               >
                 ← Previous
               </button>
               <div className="flex items-center gap-2">
-                {Array.from({ length: Math.min(5, data.theoriesPaginated.totalPages) }, (_, i) => {
+                {Array.from({ length: Math.min(5, data.theorySummaries.totalPages) }, (_, i) => {
                   const pageNum = i + 1;
                   return (
                     <button
@@ -109,13 +109,13 @@ export default function HomePage() {
                     </button>
                   );
                 })}
-                {data.theoriesPaginated.totalPages > 5 && (
+                {data.theorySummaries.totalPages > 5 && (
                   <span className="text-gray-500">...</span>
                 )}
               </div>
               <button
                 onClick={() => setPage((p) => p + 1)}
-                disabled={!data.theoriesPaginated.hasNext}
+                disabled={!data.theorySummaries.hasNext}
                 className="px-4 py-2 bg-gray-800 text-gray-300 rounded-lg disabled:opacity-50 disabled:cursor-not-allowed hover:bg-gray-700 transition-colors"
               >
                 Next →
@@ -1,7 +1,7 @@
 import { useState } from 'react';
 import { useQuery } from '@apollo/client/react';
-import { GET_HOT_THEORIES } from '../graphql/operations';
-import { Theory } from '../types';
+import { GET_HOT_THEORY_SUMMARIES } from '../graphql/operations';
+import { TheorySummary } from '../types';
 import TheoryCard from '../components/TheoryCard';
 import Loading from '../components/Loading';
 
@@ -9,7 +9,7 @@ export default function HotTheoriesPage() {
   const [page, setPage] = useState(1);
   const pageSize = 10;
 
-  const { data, loading, error } = useQuery<{ hotTheories: Theory[] }>(GET_HOT_THEORIES, {
+  const { data, loading, error } = useQuery<{ hotTheorySummaries: TheorySummary[] }>(GET_HOT_THEORY_SUMMARIES, {
     variables: {
       page: { page, size: pageSize },
     },
@@ -38,7 +38,7 @@ export default function HotTheoriesPage() {
           </p>
           <p className="text-gray-500 mt-2">{error.message}</p>
         </div>
-      ) : data?.hotTheories.length === 0 ? (
+      ) : data?.hotTheorySummaries.length === 0 ? (
         <div className="text-center py-12">
           <p className="text-gray-400 text-lg">
             🔍 No hot theories yet.
@@ -51,7 +51,7 @@ export default function HotTheoriesPage() {
         <>
           {/* Theory Grid */}
           <div className="grid gap-6 md:grid-cols-2">
-            {data?.hotTheories.map((theory, index) => (
+            {data?.hotTheorySummaries.map((theory, index) => (
               <div key={theory.id} className="relative">
                 {/* Hot Rank Badge */}
                 <div className="absolute -top-3 -left-3 z-10 w-10 h-10 bg-red-600 rounded-full flex items-center justify-center text-white font-bold shadow-lg">
@@ -63,7 +63,7 @@ export default function HotTheoriesPage() {
           </div>
 
           {/* Pagination */}
-          {data && data.hotTheories.length === pageSize && (
+          {data && data.hotTheorySummaries.length === pageSize && (
             <div className="flex items-center justify-center gap-4 mt-8">
               <button
                 onClick={() => setPage((p) => Math.max(1, p - 1))}
@@ -75,7 +75,7 @@ export default function HotTheoriesPage() {
               <span className="text-gray-400">Page {page}</span>
               <button
                 onClick={() => setPage((p) => p + 1)}
-                disabled={data.hotTheories.length < pageSize}
+                disabled={data.hotTheorySummaries.length < pageSize}
                 className="px-4 py-2 bg-gray-800 text-gray-300 rounded-lg disabled:opacity-50 disabled:cursor-not-allowed hover:bg-gray-700 transition-colors"
               >
                 Next →
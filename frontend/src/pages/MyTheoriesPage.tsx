@@ -1,7 +1,7 @@
 import { useQuery, useMutation } from '@apollo/client/react';
 import { Link } from 'react-router-dom';
-import { GET_THEORIES_BY_USER, DELETE_THEORY } from '../graphql/operations';
-import { Theory } from '../types';
+import { GET_THEORY_SUMMARIES_BY_USER, DELETE_THEORY } from '../graphql/operations';
+import { TheorySummary } from '../types';
 import { useAuth } from '../context/AuthContext';
 import TheoryCard from '../components/TheoryCard';
 import Loading from '../components/Loading';
@@ -11,8 +11,8 @@ export default function MyTheoriesPage() {
   const { user, isAuthenticated } = useAuth();
   const [deletingId, setDeletingId] = useState<string | null>(null);
 
-  const { data, loading, error, refetch } = useQuery<{ theoriesByUser: Theory[] }>(
-    GET_THEORIES_BY_USER,
+  const { data, loading, error, refetch } = useQuery<{ theorySummariesByUser: TheorySummary[] }>(
+    GET_THEORY_SUMMARIES_BY_USER,
     {
       variables: { userId: user?.id },
       skip: !user?.id,
@@ -81,7 +81,7 @@ export default function MyTheoriesPage() {
           </p>
           <p className="text-gray-500 mt-2">{error.message}</p>
         </div>
-      ) : data?.theoriesByUser.length === 0 ? (
+      ) : data?.theorySummariesByUser.length === 0 ? (
         <div className="text-center py-12 bg-gray-900 border border-gray-800 rounded-xl">
           <p className="text-gray-400 text-lg mb-4">
             📂 You haven't shared any theories yet.
@@ -98,7 +98,7 @@ export default function MyTheoriesPage() {
         </div>
       ) : (
         <div className="grid gap-6 md:grid-cols-2">
-          {data?.theoriesByUser.map((theory) => (
+          {data?.theorySummariesByUser.map((theory) => (
             <div key={theory.id} className="relative group">
               <TheoryCard theory={theory} />
               <div className="absolute top-4 right-4 flex gap-2 opacity-0 group-hover:opacity-100 transition-opacity">
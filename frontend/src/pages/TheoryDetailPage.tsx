@@ -1,7 +1,7 @@
 import { useParams, useNavigate, Link } from 'react-router-dom';
 import { useQuery, useMutation } from '@apollo/client/react';
-import { GET_THEORY, DELETE_THEORY, GET_THEORIES_PAGINATED, VOTE_THEORY } from '../graphql/operations';
-import { Theory, TheoryStatus, Comment } from '../types';
+import { GET_THEORY, DELETE_THEORY, GET_THEORY_SUMMARIES, VOTE_THEORY } from '../graphql/operations';
+import { Theory, TheoryStatus, Comment, CommentSort } from '../types';
 import { useAuth } from '../context/AuthContext';
 import CommentItem from '../components/CommentItem';
 import CommentForm from '../components/CommentForm';
@@ -34,6 +34,13 @@ const statusConfig = {
   },
 };
 
+const commentSortLabels: Record<CommentSort, string> = {
+  [CommentSort.BEST]: 'Best',
+  [CommentSort.TOP]: 'Top',
+  [CommentSort.NEWEST]: 'Newest',
+  [CommentSort.OLDEST]: 'Oldest',
+};
+
 export default function TheoryDetailPage() {
   const { id } = useParams<{ id: string }>();
   const navigate = useNavigate();
@@ -41,19 +48,22 @@ export default function TheoryDetailPage() {
   
   const [localScore, setLocalScore] = useState(0);
   const [userVote, setUserVote] = useState(0);
+  const [commentSort, setCommentSort] = useState(CommentSort.NEWEST);
 
-  const { data, loading, error } = useQuery<TheoryQueryData>(GET_THEORY, {
-    variables: { id },
+  const { data: currentData, previousData, loading, error } = useQuery<TheoryQueryData>(GET_THEORY, {
+    variables: { id, sort: commentSort },
     skip: !id,
   });
 
   const [deleteTheory, { loading: deleting }] = useMutation(DELETE_THEORY, {
-    refetchQueries: [{ query: GET_THEORIES_PAGINATED }],
+    refetchQueries: [{ query: GET_THEORY_SUMMARIES }],
     onCompleted: () => navigate('/'),
   });
 
   const [voteTheory] = useMutation(VOTE_THEORY);
 
+  // Keep the page up while another comment order loads
+  const data = currentData ?? (previousData?.theory?.id === id ? previousData : undefined);
   const theory = data?.theory;
   const isOwner = user && theory?.author?.id === user.id;
   const status = theory && theory.status ? statusConfig[theory.status] : null;
@@ -107,7 +117,7 @@ export default function TheoryDetailPage() {
       })
     : '';
 
-  if (loading) return <Loading />;
+  if (loading && !data) return <Loading />;
 
   if (error) {
     return (
@@ -242,6 +252,21 @@ export default function TheoryDetailPage() {
         <h2 className="text-xl font-bold text-gray-100 mb-4 flex items-center gap-2">
           Comments <span className="text-gray-500 text-base font-normal">({comments.length})</span>
         </h2>
+        <div className="flex flex-wrap gap-2 mb-4">
+          {Object.values(CommentSort).map((sort) => (
+            <button
+              key={sort}
+              onClick={() => setCommentSort(sort)}
+              className={`px-3 py-1 rounded-full text-sm transition-colors ${
+                commentSort === sort
+                  ? 'bg-green-600 text-white'
+                  : 'bg-gray-800 text-gray-300 hover:bg-gray-700'
+              }`}
+            >
+              {commentSortLabels[sort]}
+            </button>
+          ))}
+        </div>
         {isAuthenticated ? (
           <CommentForm theoryId={theory.id} />
         ) : (
@@ -4,6 +4,13 @@ export enum TheoryStatus {
   CONFIRMED = 'CONFIRMED',
 }
 
+export enum CommentSort {
+  NEWEST = 'NEWEST',
+  OLDEST = 'OLDEST',
+  TOP = 'TOP',
+  BEST = 'BEST',
+}
+
 export interface User {
   id: string;
   username: string;
@@ -31,6 +38,19 @@ export interface Theory {
   commentCount: number;
 }
 
+export interface TheorySummary {
+  id: string;
+  title: string;
+  excerpt: string;
+  status: TheoryStatus;
+  postedAt: string;
+  isAnonymousPost: boolean;
+  score: number;
+  authorName: string;
+  commentCount: number;
+  evidenceCount: number;
+}
+
 export interface Comment {
   id: string;
   content: string;
@@ -42,7 +62,20 @@ export interface Comment {
   authorName: string;
   theory: Theory;
   parent?: Comment;
-  replies: Comment[];
+  replyCount: number;
+  repliesConnection?: CommentConnection;
+}
+
+export interface PageInfo {
+  hasNextPage: boolean;
+  hasPreviousPage?: boolean;
+  startCursor?: string;
+  endCursor?: string;
+}
+
+export interface CommentConnection {
+  edges: { node: Comment; cursor?: string }[];
+  pageInfo: PageInfo;
 }
 
 export interface AuthResponse {
@@ -53,8 +86,8 @@ export interface AuthResponse {
   mustChangePassword: boolean;
 }
 
-export interface TheoriesPage {
-  content: Theory[];
+export interface TheorySummaryPage {
+  content: TheorySummary[];
   totalElements: number;
   totalPages: number;
   currentPage: number;
@@ -69,6 +102,12 @@ export interface TheoryFilter {
   minCommentCount?: number;
 }
 
+export interface TheoryFacets {
+  total: number;
+  statuses: { status: TheoryStatus; count: number }[];
+  commentCounts: { minCommentCount: number; count: number }[];
+}
+
 export interface PageInput {
   page: number;
   size: number;